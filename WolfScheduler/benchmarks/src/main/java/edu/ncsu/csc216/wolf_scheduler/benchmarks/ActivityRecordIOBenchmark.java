@@ -0,0 +1,77 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Measures exporting a schedule with ActivityRecordIO.writeActivityRecords().
+ *
+ * @author David Mond
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActivityRecordIOBenchmark {
+	/** Number of activities in the exported schedule */
+	@Param({"8", "10000"})
+	public int activities;
+
+	/** Schedule to export */
+	private ArrayList<Activity> schedule;
+	/** File the schedule is exported to */
+	private Path out;
+
+	/**
+	 * Builds the schedule from a generated catalog.
+	 * @throws IOException if the files cannot be made
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		Path file = CatalogFiles.write(activities);
+		schedule = new ArrayList<Activity>(CourseRecordIO.readCourseRecords(file.toString()));
+		Files.deleteIfExists(file);
+		out = Files.createTempFile("benchmark_schedule", ".txt");
+	}
+
+	/**
+	 * Deletes the export file.
+	 * @throws IOException if the file cannot be deleted
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(out);
+	}
+
+	/**
+	 * Exports the schedule.
+	 * @throws IOException if the file cannot be written
+	 */
+	@Benchmark
+	public void writeActivityRecords() throws IOException {
+		ActivityRecordIO.writeActivityRecords(out.toString(), schedule);
+	}
+}
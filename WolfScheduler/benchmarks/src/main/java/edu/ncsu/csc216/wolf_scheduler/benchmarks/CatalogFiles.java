@@ -0,0 +1,64 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Generates course records files for the benchmarks. The same size and seed always give the
+ * same file, so results can be compared between runs.
+ *
+ * @author David Mond
+ */
+final class CatalogFiles {
+	/** Meeting day patterns used for generated courses */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "MTWHF", "M", "T", "W", "H", "F"};
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private CatalogFiles() {
+	}
+
+	/**
+	 * Returns the lines of a generated catalog. Every tenth course is arranged, and the
+	 * (name, section) pairs are all different.
+	 * @param courses number of course sections
+	 * @return course records, one per line
+	 */
+	static ArrayList<String> lines(int courses) {
+		Random random = new Random(216);
+		ArrayList<String> lines = new ArrayList<String>(courses);
+		for (int i = 0; i < courses; i++) {
+			String name = "CSC " + (100 + i / 5 % 900);
+			String section = String.format("%03d", i / 4500 * 5 + i % 5 + 1);
+			String prefix = name + ",Generated Course " + i / 5 + "," + section + ",3,instr" + i % 500 + ",";
+			if (i % 10 == 9) {
+				lines.add(prefix + "A");
+			} else {
+				int start = (8 + random.nextInt(11)) * 100 + random.nextInt(4) * 15;
+				int end = start + 50;
+				if (end % 100 > 59) {
+					end += 40;
+				}
+				lines.add(prefix + DAYS[random.nextInt(DAYS.length)] + "," + start + "," + end);
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * Writes a generated catalog to a temporary file that is deleted when the JVM exits.
+	 * @param courses number of course sections
+	 * @return the file
+	 * @throws IOException if the file cannot be written
+	 */
+	static Path write(int courses) throws IOException {
+		Path file = Files.createTempFile("benchmark_course_records", ".txt");
+		file.toFile().deleteOnExit();
+		Files.write(file, lines(courses));
+		return file;
+	}
+}
@@ -0,0 +1,58 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ColumnarCatalog;
+
+/**
+ * Reports the heap a catalog takes as a list of Courses and as a ColumnarCatalog. Both are
+ * built from the same read of the file, so both share the pooled field Strings, and neither
+ * counts the indexes CourseCatalog keeps on top of its list.
+ *
+ * The sizes come from HeapEstimate, so the report doesn't depend on when the garbage
+ * collector runs. Run it with:
+ * java -cp target/benchmarks.jar edu.ncsu.csc216.wolf_scheduler.benchmarks.CatalogFootprintReport
+ * [catalog file]
+ * Without a file it reports on a generated 100,000 course catalog.
+ *
+ * @author David Mond
+ */
+public final class CatalogFootprintReport {
+	/** Size of the catalog generated when no file is given */
+	private static final int GENERATED_COURSES = 100000;
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private CatalogFootprintReport() {
+	}
+
+	/**
+	 * Reads a catalog and prints the bytes per course of each layout.
+	 * @param args the catalog file, if any
+	 * @throws IOException if the catalog cannot be read or generated
+	 */
+	public static void main(String[] args) throws IOException {
+		Path file = args.length > 0 ? Path.of(args[0]) : CatalogFiles.write(GENERATED_COURSES);
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(file.toString());
+		if (args.length == 0) {
+			Files.deleteIfExists(file);
+		}
+		if (courses.isEmpty()) {
+			System.out.println("No courses in " + file);
+			return;
+		}
+		ColumnarCatalog columns = new ColumnarCatalog(courses);
+		long listBytes = HeapEstimate.retained(courses);
+		long columnBytes = HeapEstimate.retained(columns);
+		System.out.printf("%d courses%n", courses.size());
+		System.out.printf("list of Courses:  %d bytes per course%n", listBytes / courses.size());
+		System.out.printf("ColumnarCatalog:  %d bytes per course (%.0f%% of the list)%n",
+				columnBytes / courses.size(), 100.0 * columnBytes / listBytes);
+	}
+}
@@ -0,0 +1,128 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ColumnarCatalog;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.CourseCatalog;
+
+/**
+ * Compares full catalog scans over the list of Courses in CourseCatalog with the same scans
+ * over ColumnarCatalog: finding the courses on a day, ordering by start time, and building
+ * the display rows.
+ *
+ * @author David Mond
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarCatalogBenchmark {
+	/** Number of course sections in the catalog */
+	@Param({"1000", "100000"})
+	public int courses;
+
+	/** Catalog as a list of Courses */
+	private List<Course> list;
+	/** Same catalog as columns */
+	private ColumnarCatalog columns;
+
+	/**
+	 * Loads both catalogs.
+	 * @throws IOException if the catalog file cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		Path file = CatalogFiles.write(courses);
+		list = CourseCatalog.load(file.toString()).getCourses();
+		columns = ColumnarCatalog.load(file.toString());
+		Files.deleteIfExists(file);
+	}
+
+	/**
+	 * Finds the courses meeting on Tuesday in the list.
+	 * @return matching courses
+	 */
+	@Benchmark
+	public ArrayList<Course> listMeetingOn() {
+		ArrayList<Course> found = new ArrayList<Course>();
+		for (int i = 0; i < list.size(); i++) {
+			if ((list.get(i).getMeetingDayMask() & Activity.TUESDAY) != 0) {
+				found.add(list.get(i));
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Finds the courses meeting on Tuesday in the columns.
+	 * @return matching rows
+	 */
+	@Benchmark
+	public int[] columnarMeetingOn() {
+		return columns.findMeetingOn(Activity.TUESDAY);
+	}
+
+	/**
+	 * Orders the list by start time.
+	 * @return sorted copy of the list
+	 */
+	@Benchmark
+	public ArrayList<Course> listSortByStartTime() {
+		ArrayList<Course> sorted = new ArrayList<Course>(list);
+		sorted.sort((a, b) -> Integer.compare(a.getStartTime(), b.getStartTime()));
+		return sorted;
+	}
+
+	/**
+	 * Orders the columns by start time.
+	 * @return rows by start time
+	 */
+	@Benchmark
+	public int[] columnarSortByStartTime() {
+		return columns.sortByStartTime();
+	}
+
+	/**
+	 * Builds the catalog display rows from the list.
+	 * @return display rows
+	 */
+	@Benchmark
+	public String[][] listDisplay() {
+		String[][] display = new String[list.size()][];
+		for (int i = 0; i < display.length; i++) {
+			display[i] = list.get(i).getShortDisplayArray();
+		}
+		return display;
+	}
+
+	/**
+	 * Builds the catalog display rows from the columns.
+	 * @return display rows
+	 */
+	@Benchmark
+	public String[][] columnarDisplay() {
+		return columns.getShortDisplayArray();
+	}
+}
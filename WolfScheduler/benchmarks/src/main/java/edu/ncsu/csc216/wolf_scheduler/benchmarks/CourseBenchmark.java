@@ -0,0 +1,136 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Measures building and validating Courses, and formatting meeting strings with
+ * Activity.getMeetingString(). Run with -prof gc to check that the validate benchmarks
+ * allocate nothing (gc.alloc.rate.norm of 0 bytes per call).
+ *
+ * @author David Mond
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseBenchmark {
+	/** Course name, kept in a field so the JIT can't fold it */
+	public String name = "CSC 216";
+	/** Course section */
+	public String section = "001";
+	/** Invalid course section */
+	public String badSection = "0a1";
+	/** Invalid course name, rejected at its last character */
+	public String badName = "CSC 21!";
+	/** Instructor id */
+	public String instructorId = "sesmith5";
+	/** Course with times in the afternoon */
+	private Course course = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330,
+			1445);
+	/** Event with times that need leading zeros */
+	private Event event = new Event("Exercise", "UMTHFS", 805, 1000, "Cardio");
+	/** Arranged course */
+	private Course arranged = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+
+	/**
+	 * Builds a valid course with meeting times.
+	 * @return the course
+	 */
+	@Benchmark
+	public Course constructCourse() {
+		return new Course(name, "Software Development Fundamentals", section, 3, "sesmith5", "MW", 1330, 1445);
+	}
+
+	/**
+	 * Builds a valid arranged course.
+	 * @return the course
+	 */
+	@Benchmark
+	public Course constructArrangedCourse() {
+		return new Course(name, "Software Development Fundamentals", "601", 3, "jctetter", "A");
+	}
+
+	/**
+	 * Tries to build a course with an invalid section, which is how invalid catalog lines
+	 * are rejected.
+	 * @return the exception message
+	 */
+	@Benchmark
+	public String constructInvalidCourse() {
+		try {
+			return new Course(name, "Software Development Fundamentals", badSection, 3, "sesmith5", "MW", 1330, 1445)
+					.getSection();
+		} catch (IllegalArgumentException e) {
+			return e.getMessage();
+		}
+	}
+
+	/**
+	 * Checks a valid course name.
+	 * @return true
+	 */
+	@Benchmark
+	public boolean validateName() {
+		return Course.isValidName(name);
+	}
+
+	/**
+	 * Checks an invalid course name.
+	 * @return false
+	 */
+	@Benchmark
+	public boolean validateInvalidName() {
+		return Course.isValidName(badName);
+	}
+
+	/**
+	 * Checks a name, section, and instructor id, as each catalog line is.
+	 * @return true if all three are valid
+	 */
+	@Benchmark
+	public boolean validateCourseFields() {
+		return Course.isValidName(name) & Course.isValidSection(section) & Course.isValidInstructorId(instructorId);
+	}
+
+	/**
+	 * Formats a course meeting string.
+	 * @return the meeting string
+	 */
+	@Benchmark
+	public String courseMeetingString() {
+		return course.getMeetingString();
+	}
+
+	/**
+	 * Formats an event meeting string with leading zeros.
+	 * @return the meeting string
+	 */
+	@Benchmark
+	public String eventMeetingString() {
+		return event.getMeetingString();
+	}
+
+	/**
+	 * Formats an arranged meeting string.
+	 * @return the meeting string
+	 */
+	@Benchmark
+	public String arrangedMeetingString() {
+		return arranged.getMeetingString();
+	}
+}
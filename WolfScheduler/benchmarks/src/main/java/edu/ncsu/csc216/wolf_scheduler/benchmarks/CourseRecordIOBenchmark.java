@@ -0,0 +1,153 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmarks;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogSnapshotReader;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogSnapshotWriter;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Measures loading a course catalog file with CourseRecordIO.readCourseRecords() at several
+ * catalog sizes, against the Scanner based reader it replaced and against reading the
+ * catalog's binary snapshot.
+ *
+ * @author David Mond
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseRecordIOBenchmark {
+	/** Number of course sections in the catalog file */
+	@Param({"100", "10000", "100000"})
+	public int courses;
+
+	/** Generated catalog file */
+	private Path file;
+	/** Snapshot of the catalog file */
+	private Path snapshot;
+
+	/**
+	 * Writes the catalog file.
+	 * @throws IOException if the file cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		file = CatalogFiles.write(courses);
+		snapshot = Files.createTempFile("catalog", ".snapshot");
+		CatalogSnapshotWriter.writeSnapshot(snapshot.toString(), file.toString(), CourseRecordIO.readCourseRecords(file.toString()));
+	}
+
+	/**
+	 * Deletes the catalog file and its snapshot.
+	 * @throws IOException if the files cannot be deleted
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(snapshot);
+	}
+
+	/**
+	 * Reads the catalog's snapshot, including the check that it still matches the file.
+	 * @return the courses read
+	 * @throws IOException if the snapshot cannot be read
+	 */
+	@Benchmark
+	public ArrayList<Course> readSnapshot() throws IOException {
+		return CatalogSnapshotReader.readSnapshot(snapshot.toString(), file.toString());
+	}
+
+	/**
+	 * Reads the catalog file.
+	 * @return the courses read
+	 * @throws FileNotFoundException if the file is missing
+	 */
+	@Benchmark
+	public ArrayList<Course> readCourseRecords() throws FileNotFoundException {
+		return CourseRecordIO.readCourseRecords(file.toString());
+	}
+
+	/**
+	 * Reads the catalog file the way CourseRecordIO did before it had its own tokenizer, with
+	 * a Scanner for the file and another for each line.
+	 * @return the courses read
+	 * @throws FileNotFoundException if the file is missing
+	 */
+	@Benchmark
+	public ArrayList<Course> readCourseRecordsWithScanner() throws FileNotFoundException {
+		ArrayList<Course> result = new ArrayList<Course>();
+		HashSet<String> seen = new HashSet<String>();
+		try (Scanner fileReader = new Scanner(new File(file.toString()))) {
+			while (fileReader.hasNextLine()) {
+				try {
+					Course course = readCourse(fileReader.nextLine());
+					if (seen.add(course.getName() + "," + course.getSection())) {
+						result.add(course);
+					}
+				} catch (IllegalArgumentException e) {
+					//skip invalid lines
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Parses one line with a Scanner, the way the original CourseRecordIO parser did. This is
+	 * the timed baseline; CourseRecordTokenizerTest checks the tokenizer against the original.
+	 * @param line course record
+	 * @return the course
+	 * @throws IllegalArgumentException if the line is not a valid course record
+	 */
+	private static Course readCourse(String line) {
+		try (Scanner courseReader = new Scanner(line)) {
+			courseReader.useDelimiter(",");
+			String name = courseReader.next();
+			String title = courseReader.next();
+			String section = courseReader.next();
+			int credits = courseReader.nextInt();
+			String instructorId = courseReader.next();
+			String meetingDays = courseReader.next();
+			Course course;
+			if ("A".equals(meetingDays)) {
+				course = new Course(name, title, section, credits, instructorId, meetingDays);
+			} else {
+				course = new Course(name, title, section, credits, instructorId, meetingDays, courseReader.nextInt(),
+						courseReader.nextInt());
+			}
+			if (courseReader.hasNext()) {
+				throw new IllegalArgumentException("Too many tokens.");
+			}
+			return course;
+		} catch (NoSuchElementException e) {
+			throw new IllegalArgumentException("Invalid line.");
+		}
+	}
+}
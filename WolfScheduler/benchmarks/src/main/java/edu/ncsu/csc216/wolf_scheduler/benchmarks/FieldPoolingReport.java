@@ -0,0 +1,69 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Reports how many bytes per course CourseRecordIO saves on a catalog by sharing the Strings
+ * of repeated field values. It reads the catalog, then adds up the Strings of the name,
+ * title, section, instructor, and meeting days of every course twice: once as if each course
+ * had its own copies, and once counting each shared String a single time.
+ *
+ * The sizes come from HeapEstimate, so the report doesn't depend on when the garbage
+ * collector runs. Run it with:
+ * java -cp target/benchmarks.jar edu.ncsu.csc216.wolf_scheduler.benchmarks.FieldPoolingReport
+ * [catalog file]
+ * Without a file it reports on a generated 100,000 course catalog.
+ *
+ * @author David Mond
+ */
+public final class FieldPoolingReport {
+	/** Size of the catalog generated when no file is given */
+	private static final int GENERATED_COURSES = 100000;
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private FieldPoolingReport() {
+	}
+
+	/**
+	 * Reads a catalog and prints the copied and pooled bytes per course.
+	 * @param args the catalog file, if any
+	 * @throws IOException if the catalog cannot be read or generated
+	 */
+	public static void main(String[] args) throws IOException {
+		Path file = args.length > 0 ? Path.of(args[0]) : CatalogFiles.write(GENERATED_COURSES);
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(file.toString());
+		if (args.length == 0) {
+			Files.deleteIfExists(file);
+		}
+		if (courses.isEmpty()) {
+			System.out.println("No courses in " + file);
+			return;
+		}
+		long copied = 0;
+		long pooled = 0;
+		IdentityHashMap<String, Boolean> counted = new IdentityHashMap<String, Boolean>();
+		for (Course c : courses) {
+			String[] fields = {c.getName(), c.getTitle(), c.getSection(), c.getInstructorId(), c.getMeetingDays()};
+			for (String field : fields) {
+				copied += HeapEstimate.stringBytes(field);
+				if (counted.put(field, Boolean.TRUE) == null) {
+					pooled += HeapEstimate.stringBytes(field);
+				}
+			}
+		}
+		System.out.printf("%d courses, %d distinct field Strings%n", courses.size(), counted.size());
+		System.out.printf("copied: %d bytes per course%n", copied / courses.size());
+		System.out.printf("pooled: %d bytes per course%n", pooled / courses.size());
+		System.out.printf("saved:  %d bytes per course (%.0f%%)%n", (copied - pooled) / courses.size(),
+				100.0 * (copied - pooled) / copied);
+	}
+}
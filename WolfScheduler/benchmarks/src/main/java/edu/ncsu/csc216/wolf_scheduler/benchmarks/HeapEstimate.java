@@ -0,0 +1,144 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmarks;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Estimates the heap an object graph takes on a 64 bit JVM with compressed references and
+ * compact Strings: 12 byte object headers, 16 byte array headers, 4 byte references, and
+ * every object padded to 8 bytes. Each object is counted once however many references it
+ * has, so shared Strings count once. Unlike measuring the heap before and after, the
+ * estimate doesn't depend on when the garbage collector runs.
+ *
+ * Only Strings, arrays, ArrayLists, and the application's own classes are followed, which
+ * covers everything the catalogs hold. An ArrayList is counted as if its array were sized to
+ * fit.
+ *
+ * @author David Mond
+ */
+final class HeapEstimate {
+	/** Bytes in an object header */
+	private static final int OBJECT_HEADER = 12;
+	/** Bytes in an array header, including its length */
+	private static final int ARRAY_HEADER = 16;
+	/** Bytes in a compressed reference */
+	private static final int REFERENCE = 4;
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private HeapEstimate() {
+	}
+
+	/**
+	 * Estimates the heap taken by a String of single byte characters: a 24 byte String object
+	 * and its byte array.
+	 * @param s String to measure
+	 * @return estimated bytes
+	 */
+	static long stringBytes(String s) {
+		return 24 + align(ARRAY_HEADER + s.length());
+	}
+
+	/**
+	 * Estimates the heap taken by everything reachable from an object.
+	 * @param root object to measure
+	 * @return estimated bytes
+	 * @throws IllegalArgumentException if the graph holds a JDK class the estimate doesn't
+	 * know the layout of
+	 */
+	static long retained(Object root) {
+		IdentityHashMap<Object, Boolean> seen = new IdentityHashMap<Object, Boolean>();
+		ArrayDeque<Object> pending = new ArrayDeque<Object>();
+		pending.push(root);
+		long bytes = 0;
+		while (!pending.isEmpty()) {
+			Object o = pending.pop();
+			if (o == null || seen.put(o, Boolean.TRUE) != null) {
+				continue;
+			}
+			Class<?> type = o.getClass();
+			if (o instanceof String) {
+				bytes += stringBytes((String) o);
+			} else if (type.isArray()) {
+				int length = Array.getLength(o);
+				Class<?> element = type.getComponentType();
+				bytes += align(ARRAY_HEADER + (long) length * sizeOf(element));
+				if (!element.isPrimitive()) {
+					for (int i = 0; i < length; i++) {
+						pending.push(Array.get(o, i));
+					}
+				}
+			} else if (o instanceof ArrayList) {
+				//size and modCount, the element array sized to fit
+				ArrayList<?> list = (ArrayList<?>) o;
+				bytes += align(OBJECT_HEADER + 8 + REFERENCE) + align(ARRAY_HEADER + (long) list.size() * REFERENCE);
+				pending.addAll(list);
+			} else if (type.getName().startsWith("java.")) {
+				throw new IllegalArgumentException("Cannot estimate " + type.getName());
+			} else {
+				bytes += fields(o, pending);
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * Adds up the fields of one of the application's objects and queues the objects they
+	 * refer to.
+	 * @param o object to measure
+	 * @param pending objects still to be measured
+	 * @return estimated bytes of the object itself
+	 */
+	private static long fields(Object o, ArrayDeque<Object> pending) {
+		long bytes = OBJECT_HEADER;
+		for (Class<?> c = o.getClass(); c != Object.class; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers())) {
+					continue;
+				}
+				bytes += sizeOf(field.getType());
+				if (!field.getType().isPrimitive()) {
+					field.setAccessible(true);
+					try {
+						pending.push(field.get(o));
+					} catch (IllegalAccessException e) {
+						throw new IllegalArgumentException("Cannot read " + field);
+					}
+				}
+			}
+		}
+		return align(bytes);
+	}
+
+	/**
+	 * Returns the bytes a field or array element of the given type takes.
+	 * @param type type of the field or element
+	 * @return bytes
+	 */
+	private static int sizeOf(Class<?> type) {
+		if (type == long.class || type == double.class) {
+			return 8;
+		} else if (type == int.class || type == float.class) {
+			return 4;
+		} else if (type == short.class || type == char.class) {
+			return 2;
+		} else if (type == byte.class || type == boolean.class) {
+			return 1;
+		}
+		return REFERENCE;
+	}
+
+	/**
+	 * Pads a size to 8 bytes.
+	 * @param bytes size
+	 * @return padded size
+	 */
+	private static long align(long bytes) {
+		return (bytes + 7) / 8 * 8;
+	}
+}
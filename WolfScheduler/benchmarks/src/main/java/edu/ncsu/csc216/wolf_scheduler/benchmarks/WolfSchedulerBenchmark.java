@@ -0,0 +1,206 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Measures catalog lookups and type-ahead searches, adding courses to a schedule, and building
+ * the schedule display arrays in WolfScheduler.
+ *
+ * @author David Mond
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WolfSchedulerBenchmark {
+	/** Number of course sections in the catalog */
+	@Param({"1000", "100000"})
+	public int courses;
+
+	/** Shared catalog */
+	private CourseCatalog catalog;
+	/** Names and sections looked up, in turn */
+	private String[][] keys;
+	/** Type-ahead prefixes searched, in turn */
+	private String[] prefixes;
+	/** Timed courses with different names that can all be scheduled together */
+	private String[][] scheduleKeys;
+	/** A timed course that conflicts with one of the scheduled courses */
+	private String[] conflictingKey;
+	/** Scheduler with a full schedule */
+	private WolfScheduler full;
+	/** Next key to look up */
+	private int next;
+
+	/**
+	 * Loads the catalog and fills a schedule.
+	 * @throws IOException if the catalog file cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		Path file = CatalogFiles.write(courses);
+		catalog = CourseCatalog.load(file.toString());
+		Files.deleteIfExists(file);
+		keys = new String[1024][];
+		for (int i = 0; i < keys.length; i++) {
+			Course c = catalog.get((int) ((long) i * 7919 % catalog.size()));
+			keys[i] = new String[] {c.getName(), c.getSection()};
+		}
+		prefixes = new String[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			//what a user has typed a few keys into a course name, in lower case
+			String name = keys[i][0].toLowerCase();
+			prefixes[i] = name.substring(0, Math.min(name.length(), 3 + i % 4));
+		}
+		//pick timed courses greedily so every add goes through the conflict check and passes
+		ArrayList<Course> picked = new ArrayList<Course>();
+		Course conflicting = null;
+		for (int i = 0; i < catalog.size() && (picked.size() < 8 || conflicting == null); i++) {
+			Course c = catalog.get(i);
+			if (c.getMeetingDayMask() == 0 || hasName(picked, c.getName())) {
+				continue;
+			}
+			if (!conflicts(picked, c)) {
+				if (picked.size() < 8) {
+					picked.add(c);
+				}
+			} else if (conflicting == null) {
+				conflicting = c;
+			}
+		}
+		if (picked.size() < 8 || conflicting == null) {
+			throw new IllegalStateException("The catalog doesn't have enough timed courses.");
+		}
+		scheduleKeys = new String[picked.size()][];
+		for (int i = 0; i < picked.size(); i++) {
+			scheduleKeys[i] = new String[] {picked.get(i).getName(), picked.get(i).getSection()};
+		}
+		conflictingKey = new String[] {conflicting.getName(), conflicting.getSection()};
+		full = new WolfScheduler(catalog);
+		for (String[] key : scheduleKeys) {
+			full.addCourseToSchedule(key[0], key[1]);
+		}
+		//weekend events, so they can't conflict with the courses
+		for (int i = 0; i < 6; i++) {
+			full.addEventToSchedule("Event " + i, "SU", 700 + i * 100, 730 + i * 100, "Benchmark");
+		}
+	}
+
+	/**
+	 * Returns true if a course with the given name has been picked.
+	 * @param picked courses picked so far
+	 * @param name course name
+	 * @return true if the name is taken
+	 */
+	private static boolean hasName(ArrayList<Course> picked, String name) {
+		for (Course c : picked) {
+			if (c.getName().equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the course conflicts with any picked course.
+	 * @param picked courses picked so far
+	 * @param course course to check
+	 * @return true if they conflict
+	 */
+	private static boolean conflicts(ArrayList<Course> picked, Course course) {
+		for (Course c : picked) {
+			if (c.conflictsWith(course)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Looks up a course by name and section.
+	 * @return the course
+	 */
+	@Benchmark
+	public Course getCourseFromCatalog() {
+		String[] key = keys[next++ & (keys.length - 1)];
+		return full.getCourseFromCatalog(key[0], key[1]);
+	}
+
+	/**
+	 * Finds the first ten catalog courses for a type-ahead prefix.
+	 * @return the display array of the matches
+	 */
+	@Benchmark
+	public String[][] searchCatalog() {
+		return full.searchCatalog(prefixes[next++ & (prefixes.length - 1)], 10);
+	}
+
+	/**
+	 * Starts a session on the shared catalog and adds eight timed courses to it, each one
+	 * checked for conflicts against the ones before it.
+	 * @return the scheduler
+	 */
+	@Benchmark
+	public WolfScheduler addCourseToSchedule() {
+		WolfScheduler ws = new WolfScheduler(catalog);
+		for (String[] key : scheduleKeys) {
+			ws.addCourseToSchedule(key[0], key[1]);
+		}
+		return ws;
+	}
+
+	/**
+	 * Tries to add a course that conflicts with the full schedule, which is rejected.
+	 * @return the rejection message
+	 */
+	@Benchmark
+	public String addConflictingCourse() {
+		try {
+			full.addCourseToSchedule(conflictingKey[0], conflictingKey[1]);
+			throw new IllegalStateException("The conflicting course was added.");
+		} catch (IllegalArgumentException e) {
+			return e.getMessage();
+		}
+	}
+
+	/**
+	 * Builds the short display array of a full schedule.
+	 * @return the display array
+	 */
+	@Benchmark
+	public String[][] getScheduledActivities() {
+		return full.getScheduledActivities();
+	}
+
+	/**
+	 * Builds the long display array of a full schedule.
+	 * @return the display array
+	 */
+	@Benchmark
+	public String[][] getFullScheduledActivities() {
+		return full.getFullScheduledActivities();
+	}
+}
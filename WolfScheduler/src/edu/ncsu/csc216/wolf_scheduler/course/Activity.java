@@ -16,6 +16,41 @@ public abstract class Activity {
 	private int startTime;
 	/** Activity's ending time */
 	private int endTime;
+	/** Activity's meeting days, one bit per day */
+	private int meetingDayMask;
+	
+	/** Meeting day mask bit for Sunday (U) */
+	public static final int SUNDAY = 1;
+	/** Meeting day mask bit for Monday (M) */
+	public static final int MONDAY = 1 << 1;
+	/** Meeting day mask bit for Tuesday (T) */
+	public static final int TUESDAY = 1 << 2;
+	/** Meeting day mask bit for Wednesday (W) */
+	public static final int WEDNESDAY = 1 << 3;
+	/** Meeting day mask bit for Thursday (H) */
+	public static final int THURSDAY = 1 << 4;
+	/** Meeting day mask bit for Friday (F) */
+	public static final int FRIDAY = 1 << 5;
+	/** Meeting day mask bit for Saturday (S) */
+	public static final int SATURDAY = 1 << 6;
+	/** Meeting day mask of Monday through Friday */
+	public static final int WEEKDAYS = MONDAY | TUESDAY | WEDNESDAY | THURSDAY | FRIDAY;
+	/** Meeting day mask of every day */
+	public static final int ALL_DAYS = SUNDAY | WEEKDAYS | SATURDAY;
+	/** Flag in a set of valid days that means the activity may be arranged ("A") */
+	protected static final int ARRANGED = 1 << 7;
+	/** Meeting day mask bit for each day character, indexed by the character; 0 if not a day */
+	private static final int[] DAY_BITS = new int['W' + 1];
+	
+	static {
+		DAY_BITS['U'] = SUNDAY;
+		DAY_BITS['M'] = MONDAY;
+		DAY_BITS['T'] = TUESDAY;
+		DAY_BITS['W'] = WEDNESDAY;
+		DAY_BITS['H'] = THURSDAY;
+		DAY_BITS['F'] = FRIDAY;
+		DAY_BITS['S'] = SATURDAY;
+	}
 	/**
 	 * Creates an Activity with the given title, meetingDays, startTime, and endTime.
 	 * @param title Represents activity's title
@@ -28,6 +63,23 @@ public abstract class Activity {
         setTitle(title);
         setMeetingDaysAndTime(meetingDays, startTime, endTime);
     }
+
+	/**
+	 * Creates an Activity from values that were checked when they were first read, without
+	 * checking them again. Only for subclasses rebuilding activities from a trusted source.
+	 * @param title Represents activity's title
+	 * @param meetingDays Represents activity's meeting days of the week.
+	 * @param meetingDayMask mask of the meeting days, 0 if arranged
+	 * @param startTime Represents start time for the activity.
+	 * @param endTime Represents end time for the activity.
+	 */
+	protected Activity(String title, String meetingDays, int meetingDayMask, int startTime, int endTime) {
+		this.title = title;
+		this.meetingDays = meetingDays;
+		this.meetingDayMask = meetingDayMask;
+		this.startTime = startTime;
+		this.endTime = endTime;
+	}
 	
 	
 
@@ -87,55 +139,45 @@ public abstract class Activity {
 	 * @param endTime     the ending time for the activities.
 	 */
 	public void setMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
+		setMeetingDaysAndTime(meetingDays, startTime, endTime, ALL_DAYS | ARRANGED);
+	}
+
+	/**
+	 * Sets the meeting days and times, only allowing the days in validDays. This is the one
+	 * place meeting days are validated; subclasses pass in the days they allow.
+	 * @param meetingDays the meeting days for the activities.
+	 * @param startTime   the starting time for the activities.
+	 * @param endTime     the ending time for the activities.
+	 * @param validDays   mask of the days allowed, plus ARRANGED if "A" is allowed
+	 * @throws IllegalArgumentException if the days or times are invalid
+	 */
+	protected void setMeetingDaysAndTime(String meetingDays, int startTime, int endTime, int validDays) {
 		// Throw exception if the meetingDays is null or empty
 		if (meetingDays == null || "".equals(meetingDays)) {
 			throw new IllegalArgumentException("Invalid meeting days and times.");
 		}
 	
-		if ("A".equals(meetingDays)) { // Arranged
+		if ((validDays & ARRANGED) != 0 && "A".equals(meetingDays)) { // Arranged
 			// Throw exception if the start or end time is not 0 after being arranged
 			if (startTime != 0 || endTime != 0) {
 				throw new IllegalArgumentException("Invalid meeting days and times.");
 			}
 			this.meetingDays = meetingDays;
+			this.meetingDayMask = 0;
 			this.startTime = 0;
 			this.endTime = 0;
 		}
 	
 		else { // not arranged
-			int mCount = 0;
-			int tCount = 0;
-			int wCount = 0;
-			int hCount = 0;
-			int fCount = 0;
-			int sCount = 0;
-			int uCount = 0;
+			int mask = 0;
 			for (int i = 0; i < meetingDays.length(); i++) {
-				// Count each day
-				if (meetingDays.charAt(i) == 'M') {
-					mCount++;
-				} else if (meetingDays.charAt(i) == 'T') {
-					tCount++;
-				} else if (meetingDays.charAt(i) == 'W') {
-					wCount++;
-				} else if (meetingDays.charAt(i) == 'H') {
-					hCount++;
-				} else if (meetingDays.charAt(i) == 'F') {
-					fCount++;
-				} else if (meetingDays.charAt(i) == 'S') {
-					sCount++;
-				} else if (meetingDays.charAt(i) == 'U') {
-					uCount++;
-				}
-				
-				// If not m, t, w, h, f, throw an exception
-				else {
+				char day = meetingDays.charAt(i);
+				int bit = day < DAY_BITS.length ? DAY_BITS[day] : 0;
+				// If not an allowed day, or a day that shows up more than once, throw an exception
+				if ((bit & validDays) == 0 || (bit & mask) != 0) {
 					throw new IllegalArgumentException("Invalid meeting days and times.");
 				}
-			}
-			// If a day shows up more than once, throw an exception
-			if (mCount > 1 || tCount > 1 || wCount > 1 || hCount > 1 || fCount > 1 || sCount > 1 || uCount > 1) { // checks for duplicates
-				throw new IllegalArgumentException("Invalid meeting days and times.");
+				mask |= bit;
 			}
 			// Convert military time to standard time
 			int startHour = startTime / 100;
@@ -167,11 +209,89 @@ public abstract class Activity {
 			}
 			// everything is valid and works together!
 			this.meetingDays = meetingDays;
+			this.meetingDayMask = mask;
 			this.startTime = startTime;
 			this.endTime = endTime;
 		}
 	}
 
+	/**
+	 * Returns the Activity's meeting days as a mask with one bit per day (SUNDAY through
+	 * SATURDAY). Arranged activities have no meeting days, so their mask is 0.
+	 * 
+	 * @return the meeting day mask
+	 */
+	public int getMeetingDayMask() {
+		return meetingDayMask;
+	}
+
+	/**
+	 * Returns true if this Activity and the given Activity meet on at least one of the same
+	 * days. Arranged activities never share a meeting day with anything.
+	 * 
+	 * @param activity activity to compare meeting days with
+	 * @return true if the activities share a meeting day
+	 */
+	public boolean sharesMeetingDay(Activity activity) {
+		return (meetingDayMask & activity.meetingDayMask) != 0;
+	}
+
+	/**
+	 * Returns true if this Activity and the given Activity share a meeting day and their
+	 * times overlap. Times that only touch, like one ending at 1330 and the other starting at
+	 * 1330, still overlap.
+	 *
+	 * @param activity activity to check against
+	 * @return true if the activities conflict
+	 */
+	public boolean conflictsWith(Activity activity) {
+		return sharesMeetingDay(activity) && startTime <= activity.endTime && activity.startTime <= endTime;
+	}
+
+	/**
+	 * Converts a meeting days String to its mask without checking which days are allowed.
+	 * Characters that are not days are ignored.
+	 * 
+	 * @param meetingDays meeting days as a series of chars
+	 * @return mask of the days in the String
+	 */
+	public static int toMeetingDayMask(String meetingDays) {
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			char day = meetingDays.charAt(i);
+			mask |= day < DAY_BITS.length ? DAY_BITS[day] : 0;
+		}
+		return mask;
+	}
+
+	/**
+	 * Converts a meeting days String typed into a search or filter to its mask, checking it
+	 * the way a catalog line is checked. "A" means arranged and gives 0. Any character that
+	 * isn't a day, or a day given twice, makes the whole String invalid, so "MX" or "MM"
+	 * never matches the Monday courses.
+	 * 
+	 * @param meetingDays meeting days as a series of chars
+	 * @return mask of the days, 0 for "A", or -1 if the String is null, empty, or invalid
+	 */
+	public static int parseMeetingDayMask(String meetingDays) {
+		if (meetingDays == null || meetingDays.isEmpty()) {
+			return -1;
+		}
+		if ("A".equals(meetingDays)) {
+			return 0;
+		}
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			char day = meetingDays.charAt(i);
+			int bit = day < DAY_BITS.length ? DAY_BITS[day] : 0;
+			if (bit == 0 || (bit & mask) != 0) {
+				return -1;
+			}
+			mask |= bit;
+		}
+		return mask;
+	}
+
 	/**
 	 * Converts military time to regular time and gets the meeting string of meeting
 	 * days, start time, and end time.
@@ -1,5 +1,7 @@
 package edu.ncsu.csc216.wolf_scheduler.course;
 
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogSnapshotReader;
+
 /** Creating the Course Class. Defines a course inside a schedule with different fields
  * such as name, title, section, credits, instructorId, meetingDays, startTime, and endTime.
  * It has many methods such as getName, setName, getTitle, setTitle, getSection, setSection,
@@ -36,58 +38,43 @@ public class Course extends Activity {
 	 * @throws IllegalArgumentException if the name parameter is invalid
 	 */
 	private void setName(String name) {
-		final int minNameLength = 5;
-		final int maxNameLength = 8;
-		final int minLetterCount = 1;
-		final int maxLetterCount = 4;
-		final int digitMaxCount = 3;
-		// Throw exception if the name is null
-		if (name == null) {
+		if (!isValidName(name)) {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
+		this.name = name;
+	}
 
-		// Throw exception if the name is an empty string
-		// Throw exception if the name contains less than 5 character or greater than 8
-		// characters
-		if (name.length() < minNameLength || name.length() > maxNameLength) {
-			throw new IllegalArgumentException("Invalid course name.");
+	/**
+	 * Returns true if the name is 1 to 4 letters, one space, and exactly 3 digits, such as
+	 * "CSC 216". The name is checked in one pass over its characters without making any
+	 * objects, since every line of every catalog load is checked.
+	 * 
+	 * @param name the name to check
+	 * @return true if the name is valid
+	 */
+	public static boolean isValidName(String name) {
+		final int minNameLength = 5;
+		final int maxNameLength = 8;
+		final int maxLetterCount = 4;
+		final int digitCount = 3;
+		if (name == null || name.length() < minNameLength || name.length() > maxNameLength) {
+			return false;
 		}
-
-		// Check for pattern of L[LLL] NNN
-		int letterCount = 0;
-		int digitCount = 0;
-		boolean flag = false;
-		for (int i = 0; i < name.length(); i++) {
-			if (!flag) {
-				if (Character.isLetter(name.charAt(i))) {
-					letterCount++;
-				} else if (name.substring(i, i + 1).equals(" ")) {
-					flag = true;
-				}
-
-				else {
-					throw new IllegalArgumentException("Invalid course name.");
-				}
-			} else if (flag) {
-				if (Character.isDigit(name.charAt(i))) {
-					digitCount++;
-				} else {
-					throw new IllegalArgumentException("Invalid course name.");
-				}
-			}
+		// Count the leading letters; a space must follow them and then only digits
+		int letters = 0;
+		while (letters < name.length() && Character.isLetter(name.charAt(letters))) {
+			letters++;
 		}
-
-		// Check that the number of letters is correct
-		if (letterCount < minLetterCount || letterCount > maxLetterCount) {
-			throw new IllegalArgumentException("Invalid course name.");
+		if (letters < 1 || letters > maxLetterCount || name.length() != letters + 1 + digitCount
+				|| name.charAt(letters) != ' ') {
+			return false;
 		}
-
-		// Check that the number of digits is correct
-		if (digitCount != digitMaxCount) {
-			throw new IllegalArgumentException("Invalid course name.");
+		for (int i = letters + 1; i < name.length(); i++) {
+			if (!Character.isDigit(name.charAt(i))) {
+				return false;
+			}
 		}
-
-		this.name = name;
+		return true;
 	}
 
 	/**
@@ -105,18 +92,28 @@ public class Course extends Activity {
 	 * @param section the section to set
 	 */
 	public void setSection(String section) {
-		// Throw exception if the section is null or doesn't fit correct length
-		if (section == null || section.length() != 3) {
+		if (!isValidSection(section)) {
 			throw new IllegalArgumentException("Invalid section.");
 		}
+		this.section = section;
+	}
+
+	/**
+	 * Returns true if the section is exactly 3 digits. Makes no objects.
+	 * 
+	 * @param section the section to check
+	 * @return true if the section is valid
+	 */
+	public static boolean isValidSection(String section) {
+		if (section == null || section.length() != 3) {
+			return false;
+		}
 		for (int i = 0; i < section.length(); i++) {
-			// Throw exception if a character of the section is not a number
 			if (!Character.isDigit(section.charAt(i))) {
-				throw new IllegalArgumentException("Invalid section.");
+				return false;
 			}
 		}
-
-		this.section = section;
+		return true;
 	}
 
 	/**
@@ -158,13 +155,22 @@ public class Course extends Activity {
 	 * @param instructorId the instructorId to set
 	 */
 	public void setInstructorId(String instructorId) {
-		// Throw exception if the instructorID is null or empty
-		if (instructorId == null || "".equals(instructorId)) {
+		if (!isValidInstructorId(instructorId)) {
 			throw new IllegalArgumentException("Invalid instructor id.");
 		}
 		this.instructorId = instructorId;
 	}
 
+	/**
+	 * Returns true if the instructor ID is not null or empty. Makes no objects.
+	 * 
+	 * @param instructorId the instructor ID to check
+	 * @return true if the instructor ID is valid
+	 */
+	public static boolean isValidInstructorId(String instructorId) {
+		return instructorId != null && !instructorId.isEmpty();
+	}
+
 	/**
 	 * Constructs a Course object with values for all fields and uses encapsulation.
 	 * 
@@ -201,6 +207,55 @@ public class Course extends Activity {
 		this(name, title, section, credits, instructorId, meetingDays, 0, 0);
 	}
 
+	/**
+	 * Creates a Course without checking its fields, for values that were checked before they
+	 * were written to a catalog snapshot.
+	 * 
+	 * @param name         name of Course
+	 * @param title        title of Course
+	 * @param section      section of Course
+	 * @param credits      credit hours for Course
+	 * @param instructorId instructor's unity id
+	 * @param meetingDays  meeting days for Course as series of chars
+	 * @param startTime    start time for Course
+	 * @param endTime      end time for Course
+	 */
+	private Course(String name, String title, String section, int credits, String instructorId, String meetingDays,
+			int startTime, int endTime, int meetingDayMask) {
+		super(title, meetingDays, meetingDayMask, startTime, endTime);
+		this.name = name;
+		this.section = section;
+		this.credits = credits;
+		this.instructorId = instructorId;
+	}
+
+	/**
+	 * Creates a Course read back from a catalog snapshot without checking its fields again.
+	 * Only CatalogSnapshotReader can make the Verified token, which it does once the
+	 * snapshot's checksum and source stamp match, so every other caller goes through the
+	 * checking constructors.
+	 * 
+	 * @param verified     proof that the snapshot was checked
+	 * @param name         name of Course
+	 * @param title        title of Course
+	 * @param section      section of Course
+	 * @param credits      credit hours for Course
+	 * @param instructorId instructor's unity id
+	 * @param meetingDays  meeting days for Course as series of chars
+	 * @param startTime    start time for Course
+	 * @param endTime      end time for Course
+	 * @return the Course
+	 * @throws IllegalArgumentException if verified is null
+	 */
+	public static Course fromSnapshot(CatalogSnapshotReader.Verified verified, String name, String title, String section,
+			int credits, String instructorId, String meetingDays, int startTime, int endTime) {
+		if (verified == null) {
+			throw new IllegalArgumentException("Unverified snapshot.");
+		}
+		int mask = "A".equals(meetingDays) ? 0 : toMeetingDayMask(meetingDays);
+		return new Course(name, title, section, credits, instructorId, meetingDays, startTime, endTime, mask);
+	}
+
 	/*
 	 * Generates a hashCode for Course using all fields.
 	 * 
@@ -366,49 +421,8 @@ public class Course extends Activity {
 	 */
 	@Override
 	public void setMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
-		// Throw exception if the meetingDays is null or empty
-		if (meetingDays == null || "".equals(meetingDays)) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
-		}
-	
-		if ("A".equals(meetingDays)) { // Arranged
-			// Throw exception if the start or end time is not 0 after being arranged
-			if (startTime != 0 || endTime != 0) {
-				throw new IllegalArgumentException("Invalid meeting days and times.");
-			}
-			super.setMeetingDaysAndTime(meetingDays,  startTime, endTime);
-		}
-	
-		else { // not arranged
-			int mCount = 0;
-			int tCount = 0;
-			int wCount = 0;
-			int hCount = 0;
-			int fCount = 0;
-			for (int i = 0; i < meetingDays.length(); i++) {
-				// Count each day
-				if (meetingDays.charAt(i) == 'M') {
-					mCount++;
-				} else if (meetingDays.charAt(i) == 'T') {
-					tCount++;
-				} else if (meetingDays.charAt(i) == 'W') {
-					wCount++;
-				} else if (meetingDays.charAt(i) == 'H') {
-					hCount++;
-				} else if (meetingDays.charAt(i) == 'F') {
-					fCount++;
-				}
-				// If not m, t, w, h, f, throw an exception
-				else {
-					throw new IllegalArgumentException("Invalid meeting days and times.");
-				}
-			}
-			// If a day shows up more than once, throw an exception
-			if (mCount > 1 || tCount > 1 || wCount > 1 || hCount > 1 || fCount > 1) { // checks for duplicates
-				throw new IllegalArgumentException("Invalid meeting days and times.");
-			}	
-		super.setMeetingDaysAndTime(meetingDays, startTime, endTime);
-		}
+		// Courses meet on weekdays only, or are arranged
+		super.setMeetingDaysAndTime(meetingDays, startTime, endTime, WEEKDAYS | ARRANGED);
 	}
 	/**
 	 * Checks to see if the activity is already in the schedule.
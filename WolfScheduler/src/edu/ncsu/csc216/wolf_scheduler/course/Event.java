@@ -91,44 +91,8 @@ public class Event extends Activity {
 	 */
 	@Override
 	public void setMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
-		// Throw exception if the meetingDays is null or empty
-			if (meetingDays == null || "".equals(meetingDays)) {
-				throw new IllegalArgumentException("Invalid meeting days and times.");
-			}
-			int mCount = 0;
-			int tCount = 0;
-			int wCount = 0;
-			int hCount = 0;
-			int fCount = 0;
-			int sCount = 0;
-			int uCount = 0;
-			for (int i = 0; i < meetingDays.length(); i++) {
-				// Count each day
-				if (meetingDays.charAt(i) == 'M') {
-					mCount++;
-				} else if (meetingDays.charAt(i) == 'T') {
-					tCount++;
-				} else if (meetingDays.charAt(i) == 'W') {
-					wCount++;
-				} else if (meetingDays.charAt(i) == 'H') {
-					hCount++;
-				} else if (meetingDays.charAt(i) == 'F') {
-					fCount++;
-				} else if (meetingDays.charAt(i) == 'S') {
-					sCount++;
-				} else if (meetingDays.charAt(i) == 'U') {
-					uCount++;
-				}
-				// If not m, t, w, h, f, s, u throw an exception
-				else {
-					throw new IllegalArgumentException("Invalid meeting days and times.");
-				}
-			}
-			// If a day shows up more than once, throw an exception
-			if (mCount > 1 || tCount > 1 || wCount > 1 || hCount > 1 || fCount > 1 || sCount > 1 || uCount > 1) { // checks for duplicates
-				throw new IllegalArgumentException("Invalid meeting days and times.");
-			}
-		super.setMeetingDaysAndTime(meetingDays, startTime, endTime);
+		// Events can meet on any day, but can't be arranged
+		super.setMeetingDaysAndTime(meetingDays, startTime, endTime, ALL_DAYS);
 	}
 
 	/**
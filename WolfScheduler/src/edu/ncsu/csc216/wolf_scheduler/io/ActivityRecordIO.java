@@ -1,9 +1,18 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.util.ArrayList;	
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 
 /**
@@ -13,19 +22,81 @@ import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 public class ActivityRecordIO {
 
 	/**
-	 * Writes the given list of Courses to 
+	 * Writes the given list of Courses to the file. The records are written with an
+	 * ActivityRecordWriter to a temporary file in the same directory, forced to the disk, and
+	 * then moved over fileName in one step, so fileName never holds a partly written or empty
+	 * schedule, even after a crash. A crash just after the move may leave the old file in
+	 * place, since the directory itself isn't forced. If anything goes wrong the temporary
+	 * file is deleted and fileName is left as it was.
+	 * 
+	 * A new file gets the default permissions of any new file, and a replaced file keeps its
+	 * permissions where the file system has POSIX permissions.
 	 * @param fileName file to write schedule of Courses to
 	 * @param activities list of Courses to write
 	 * @throws IOException if cannot write to file
 	 */
 	public static void writeActivityRecords(String fileName, ArrayList<Activity> activities) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
-	
-		for (int i = 0; i < activities.size(); i++) {
-		    fileWriter.println(activities.get(i).toString());
+		Path target = Paths.get(fileName).toAbsolutePath();
+		if (Files.isDirectory(target)) {
+			throw new IOException(fileName + " is a directory.");
+		}
+		//the temp file must be on the same file system as the target for the move to be atomic
+		Path temp = createSibling(target);
+		boolean moved = false;
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+					ActivityRecordWriter fileWriter = new ActivityRecordWriter(Channels.newOutputStream(channel))) {
+				fileWriter.writeAll(activities);
+				fileWriter.flush();
+				//the contents must be on the disk before the move can make them visible
+				channel.force(true);
+			}
+			if (Files.exists(target) && Files.getFileStore(target).supportsFileAttributeView(PosixFileAttributeView.class)) {
+				Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+			}
+			moveIntoPlace(temp, target);
+			moved = true;
+		} finally {
+			if (!moved) {
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+
+	/**
+	 * Creates an empty file next to the target with the default permissions for a new file.
+	 * Files.createTempFile() isn't used because it always makes the file readable only by
+	 * its owner, and the move would carry that over to the target.
+	 * @param target file the new file will replace
+	 * @return the new file
+	 * @throws IOException if the file cannot be created
+	 */
+	private static Path createSibling(Path target) throws IOException {
+		String prefix = "." + target.getFileName() + ".";
+		while (true) {
+			Path temp = target.resolveSibling(prefix + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+			try {
+				Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+				return temp;
+			} catch (FileAlreadyExistsException e) {
+				//try another name
+			}
+		}
+	}
+
+	/**
+	 * Moves a finished file over the target, atomically if the file system allows it.
+	 * @param source finished file
+	 * @param target file to replace
+	 * @throws IOException if the file cannot be moved
+	 */
+	private static void moveIntoPlace(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			//some file systems can't rename atomically; replacing is still better than writing in place
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
 		}
-	
-		fileWriter.close();
 	}
 
 }
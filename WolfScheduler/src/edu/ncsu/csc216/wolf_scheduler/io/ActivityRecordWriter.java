@@ -0,0 +1,130 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Streams activity records to a Writer or OutputStream, one record per line in the same
+ * format ActivityRecordIO writes. A writer is opened once and activities or whole schedules
+ * are appended to it, so many students' schedules can go into one file or pipe without
+ * building one big list or opening a file per student.
+ *
+ * Records are buffered and the underlying stream is flushed after every batch of records,
+ * so a reader on the other end of a pipe sees the output in steady batches instead of once
+ * at the end. Write errors are thrown as IOExceptions. A writer is not thread safe.
+ *
+ * @author David Mond
+ */
+public class ActivityRecordWriter implements Closeable, Flushable {
+
+	/** Default number of records written between flushes */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+	/** Size of the write buffer in chars */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** Buffered writer the records go through */
+	private final Writer out;
+	/** Number of records written between flushes */
+	private final int batchSize;
+	/** Line separator written after each record */
+	private final String lineSeparator = System.lineSeparator();
+	/** Records written since the last flush */
+	private int unflushed;
+	/** Records written in total */
+	private long recordCount;
+
+	/**
+	 * Creates a writer that encodes records with the default charset, like
+	 * ActivityRecordIO.writeActivityRecords().
+	 * @param out stream to write the records to
+	 */
+	public ActivityRecordWriter(OutputStream out) {
+		this(new OutputStreamWriter(out, Charset.defaultCharset()), DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Creates a writer that flushes every DEFAULT_BATCH_SIZE records.
+	 * @param out writer to write the records to
+	 */
+	public ActivityRecordWriter(Writer out) {
+		this(out, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Creates a writer that flushes after every batchSize records.
+	 * @param out writer to write the records to
+	 * @param batchSize number of records between flushes
+	 * @throws IllegalArgumentException if out is null or batchSize is less than 1
+	 */
+	public ActivityRecordWriter(Writer out, int batchSize) {
+		if (out == null) {
+			throw new IllegalArgumentException("Writer cannot be null.");
+		}
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be at least 1.");
+		}
+		this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out, BUFFER_SIZE);
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Writes one activity record.
+	 * @param activity activity to write
+	 * @throws IOException if the record cannot be written
+	 */
+	public void write(Activity activity) throws IOException {
+		out.write(activity.toString());
+		out.write(lineSeparator);
+		recordCount++;
+		if (++unflushed >= batchSize) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes every activity in a schedule, in order.
+	 * @param activities activities to write
+	 * @throws IOException if a record cannot be written
+	 */
+	public void writeAll(List<? extends Activity> activities) throws IOException {
+		for (int i = 0; i < activities.size(); i++) {
+			write(activities.get(i));
+		}
+	}
+
+	/**
+	 * Returns the number of records written so far.
+	 * @return number of records written
+	 */
+	public long getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Flushes the buffered records to the underlying stream.
+	 * @throws IOException if the records cannot be written
+	 */
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+		unflushed = 0;
+	}
+
+	/**
+	 * Flushes the buffered records and closes the underlying stream.
+	 * @throws IOException if the records cannot be written or the stream cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
@@ -0,0 +1,107 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Reads a catalog snapshot written by CatalogSnapshotWriter. The checksum is checked
+ * before anything is decoded, so a snapshot that was truncated or changed after it was
+ * written is rejected with an IOException and the caller can fall back to reading the
+ * text catalog with CourseRecordIO. A snapshot is also rejected if the text catalog it was
+ * written from no longer has the size and CRC32 stored in it, so an edited catalog is never
+ * shadowed by an old snapshot, even when the edit keeps the size and modification time.
+ * 
+ * A matching checksum and stamp mean the snapshot holds exactly the validated, duplicate
+ * free catalog that was written, so no text is tokenized, no numbers are parsed, no
+ * duplicate pass is made, and the Courses are built with Course.fromSnapshot(), which skips
+ * the checks in the setters. Only this class can make the Verified token that method needs.
+ * 
+ * @author David Mond
+ */
+public class CatalogSnapshotReader {
+
+	/** Bytes before the contents: the magic number and the version */
+	private static final int HEADER_SIZE = 8;
+	/** Bytes at the start of the contents: the size and CRC32 of the text catalog */
+	private static final int STAMP_SIZE = 16;
+	/** Bytes after the contents: the checksum */
+	private static final int CHECKSUM_SIZE = 8;
+
+	/**
+	 * Proof that a snapshot's checksum and stamp were checked, needed to build Courses
+	 * without checking their fields. Only CatalogSnapshotReader can make one.
+	 */
+	public static final class Verified {
+		/**
+		 * Creates the token; private so only the reader can.
+		 */
+		private Verified() {
+		}
+	}
+
+	/**
+	 * Reads the catalog stored in a snapshot file.
+	 * @param fileName snapshot file to read
+	 * @param sourceFileName text catalog the snapshot was written from
+	 * @return the Courses in the snapshot, in catalog order
+	 * @throws IOException if the file cannot be read, is not a snapshot, its checksum
+	 *                     does not match its contents, or the text catalog has changed
+	 *                     since the snapshot was written
+	 */
+	public static ArrayList<Course> readSnapshot(String fileName, String sourceFileName) throws IOException {
+		byte[] bytes = Files.readAllBytes(Paths.get(fileName));
+		if (bytes.length < HEADER_SIZE + STAMP_SIZE + CHECKSUM_SIZE) {
+			throw new IOException("Not a catalog snapshot.");
+		}
+		DataInputStream header = new DataInputStream(new ByteArrayInputStream(bytes));
+		if (header.readInt() != CatalogSnapshotWriter.MAGIC || header.readInt() != CatalogSnapshotWriter.VERSION) {
+			throw new IOException("Not a catalog snapshot.");
+		}
+		int contentsLength = bytes.length - HEADER_SIZE - CHECKSUM_SIZE;
+		CRC32 checksum = new CRC32();
+		checksum.update(bytes, HEADER_SIZE, contentsLength);
+		DataInputStream trailer = new DataInputStream(new ByteArrayInputStream(bytes, HEADER_SIZE + contentsLength, CHECKSUM_SIZE));
+		if (trailer.readLong() != checksum.getValue()) {
+			throw new IOException("Catalog snapshot checksum does not match.");
+		}
+		
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, HEADER_SIZE, contentsLength));
+		Path source = Paths.get(sourceFileName);
+		if (in.readLong() != Files.size(source) || in.readLong() != CatalogSnapshotWriter.checksum(source)) {
+			throw new IOException("Catalog snapshot is out of date.");
+		}
+		Verified verified = new Verified();
+		try {
+			String[] strings = new String[in.readInt()];
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = in.readUTF();
+			}
+			int size = in.readInt();
+			ArrayList<Course> catalog = new ArrayList<Course>(size);
+			for (int i = 0; i < size; i++) {
+				String name = strings[in.readInt()];
+				String title = strings[in.readInt()];
+				String section = strings[in.readInt()];
+				String instructorId = strings[in.readInt()];
+				String meetingDays = strings[in.readInt()];
+				int credits = in.readByte();
+				int startTime = in.readShort();
+				int endTime = in.readShort();
+				catalog.add(Course.fromSnapshot(verified, name, title, section, credits, instructorId, meetingDays, startTime, endTime));
+			}
+			return catalog;
+		} catch (EOFException | IndexOutOfBoundsException e) {
+			//only possible if the writer and reader disagree on the format
+			throw new IOException("Catalog snapshot is corrupt.", e);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Writes a catalog of already validated Courses to a binary snapshot file that
+ * CatalogSnapshotReader can load much faster than the text catalog. Every distinct String in
+ * the catalog is written once to a string table, and each course is written as indexes into
+ * that table plus its credits and times. A CRC32 checksum of the contents is written at the
+ * end of the file.
+ * 
+ * The contents start with the size and CRC32 of the text catalog the courses were read from,
+ * so the reader can tell when the snapshot no longer matches that file. Write the snapshot
+ * straight after reading the text catalog, so the stamp is the one the courses came from.
+ * The snapshot is written to a temporary file that is then moved into place, so a reader
+ * never sees half of one.
+ * 
+ * @author David Mond
+ */
+public class CatalogSnapshotWriter {
+
+	/** First four bytes of every snapshot file ("WSCS") */
+	static final int MAGIC = 0x57534353;
+	/** Version of the snapshot format */
+	static final int VERSION = 3;
+
+	/**
+	 * Writes the given catalog to a snapshot file.
+	 * @param fileName file to write the snapshot to
+	 * @param sourceFileName text catalog the Courses were read from
+	 * @param catalog Courses to write, in catalog order
+	 * @throws IOException if the file cannot be written or the text catalog cannot be read
+	 */
+	public static void writeSnapshot(String fileName, String sourceFileName, ArrayList<Course> catalog) throws IOException {
+		ByteArrayOutputStream contents = new ByteArrayOutputStream(catalog.size() * 24 + 1024);
+		DataOutputStream out = new DataOutputStream(contents);
+		
+		Path source = Paths.get(sourceFileName);
+		out.writeLong(Files.size(source));
+		out.writeLong(checksum(source));
+		
+		//Build the string table in the order the strings are first used
+		HashMap<String, Integer> stringIds = new HashMap<String, Integer>();
+		ArrayList<String> strings = new ArrayList<String>();
+		int[] ids = new int[catalog.size() * 5];
+		for (int i = 0; i < catalog.size(); i++) {
+			Course c = catalog.get(i);
+			ids[i * 5] = stringId(c.getName(), stringIds, strings);
+			ids[i * 5 + 1] = stringId(c.getTitle(), stringIds, strings);
+			ids[i * 5 + 2] = stringId(c.getSection(), stringIds, strings);
+			ids[i * 5 + 3] = stringId(c.getInstructorId(), stringIds, strings);
+			ids[i * 5 + 4] = stringId(c.getMeetingDays(), stringIds, strings);
+		}
+		out.writeInt(strings.size());
+		for (int i = 0; i < strings.size(); i++) {
+			out.writeUTF(strings.get(i));
+		}
+		
+		out.writeInt(catalog.size());
+		for (int i = 0; i < catalog.size(); i++) {
+			Course c = catalog.get(i);
+			for (int j = 0; j < 5; j++) {
+				out.writeInt(ids[i * 5 + j]);
+			}
+			out.writeByte(c.getCredits());
+			out.writeShort(c.getStartTime());
+			out.writeShort(c.getEndTime());
+		}
+		out.flush();
+		
+		CRC32 checksum = new CRC32();
+		checksum.update(contents.toByteArray());
+		
+		Path target = Paths.get(fileName).toAbsolutePath();
+		Path temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+		try {
+			OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp));
+			try (DataOutputStream fileWriter = new DataOutputStream(file)) {
+				fileWriter.writeInt(MAGIC);
+				fileWriter.writeInt(VERSION);
+				contents.writeTo(fileWriter);
+				fileWriter.writeLong(checksum.getValue());
+			}
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Returns the CRC32 of a file's contents, which stamps a snapshot with the text catalog
+	 * it was written from.
+	 * @param file file to check
+	 * @return CRC32 of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	static long checksum(Path file) throws IOException {
+		CRC32 checksum = new CRC32();
+		checksum.update(Files.readAllBytes(file));
+		return checksum.getValue();
+	}
+	
+	/**
+	 * Returns the index of the string in the string table, adding it if it is new.
+	 * @param s string to look up
+	 * @param stringIds index of each string already in the table
+	 * @param strings the string table
+	 * @return index of s in the table
+	 */
+	private static int stringId(String s, HashMap<String, Integer> stringIds, ArrayList<String> strings) {
+		Integer id = stringIds.get(s);
+		if (id == null) {
+			id = strings.size();
+			stringIds.put(s, id);
+			strings.add(s);
+		}
+		return id;
+	}
+}
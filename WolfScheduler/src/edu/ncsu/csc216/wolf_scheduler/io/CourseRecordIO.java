@@ -2,9 +2,17 @@ package edu.ncsu.csc216.wolf_scheduler.io;
 
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 
@@ -18,6 +26,9 @@ import edu.ncsu.csc216.wolf_scheduler.course.Course;
  */
 public class CourseRecordIO {
 
+	/** Most bytes of a file that are mapped at once by readCourseRecordsMapped() */
+	private static final long MAX_MAPPED_WINDOW = Integer.MAX_VALUE;
+
     /**
      * Reads course records from a file and generates a list of valid Courses.  Any invalid
      * Courses are ignored.  If the file to read cannot be found or the permissions are incorrect
@@ -27,94 +38,197 @@ public class CourseRecordIO {
      * @throws FileNotFoundException if the file cannot be found or read
      */
 	public static ArrayList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-	    Scanner fileReader = new Scanner(new FileInputStream(fileName));  //Create a file scanner to read the file
+		return readCourseRecords(fileName, Integer.MAX_VALUE, null);
+	}
+	
+	/**
+	 * Reads course records from a file like readCourseRecords(String), telling a listener
+	 * about the courses read after every batch of lines and once more at the end of the file.
+	 * The listener can stop the read early, in which case the courses read so far are
+	 * returned.
+	 * @param fileName file to read Course records from
+	 * @param batchSize number of lines between calls to the listener
+	 * @param listener listener told about each batch, or null for none
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if batchSize is less than 1
+	 */
+	public static ArrayList<Course> readCourseRecords(String fileName, int batchSize, CourseRecordListener listener)
+			throws FileNotFoundException {
+	    if (batchSize < 1) {
+	        throw new IllegalArgumentException("Invalid batch size.");
+	    }
+	    //Create a tokenizer to read the file, one line at a time
+	    CourseRecordTokenizer fileReader = new CourseRecordTokenizer(new InputStreamReader(new FileInputStream(fileName)));
 	    ArrayList<Course> courses = new ArrayList<Course>(); //Create an empty array of Course objects
-	    while (fileReader.hasNextLine()) { //While we have more lines in the file
+	    HashSet<String> seen = new HashSet<String>(); //Names and sections of the courses already added
+	    int linesRead = 0;
+	    int linesRejected = 0;
+	    List<Course> read = Collections.unmodifiableList(courses); //What the listener sees of the courses
+	    boolean reading = true;
+	    while (reading && nextLine(fileReader)) { //While we have more lines in the file
+	        linesRead++;
 	        try { //Attempt to do the following
-	            //Read the line, process it in readCourse, and get the object
-	            //If trying to construct a Course in readCourse() results in an exception, flow of control will transfer to the catch block, below
-	            Course course = readCourse(fileReader.nextLine()); 
+	            //Tokenize the line and get the object
+	            //If trying to construct a Course results in an exception, flow of control will transfer to the catch block, below
+	            Course course = fileReader.readCourse(); 
 
-	            //Create a flag to see if the newly created Course is a duplicate of something already in the list  
-	            boolean duplicate = false;
-	            //Look at all the courses in our list
-	            for (int i = 0; i < courses.size(); i++) {
-	                //Get the course at index i
-	                Course current = courses.get(i);
-	                //Check if the name and section are the same
-	                if (course.getName().equals(current.getName()) &&
-	                        course.getSection().equals(current.getSection())) {
-	                    //It's a duplicate!
-	                    duplicate = true;
-	                    break; //We can break out of the loop, no need to continue searching
-	                }
-	            }
-	            //If the course is NOT a duplicate
-	            if (!duplicate) {
+	            //Only add the course if its name and section haven't been seen yet, so the
+	            //first occurrence of a duplicated course is the one that is kept
+	            if (seen.add(course.getName() + "," + course.getSection())) {
 	                courses.add(course); //Add to the ArrayList!
-	            } //Otherwise ignore
+	            } else { //Otherwise ignore
+	                linesRejected++;
+	            }
 	        } catch (IllegalArgumentException e) {
 	            //The line is invalid b/c we couldn't create a course, skip it!
+	            linesRejected++;
+	        }
+	        if (listener != null && linesRead % batchSize == 0) {
+	            reading = listener.batchRead(read, linesRead, linesRejected);
 	        }
 	    }
-	    //Close the Scanner b/c we're responsible with our file handles
+	    //Close the file b/c we're responsible with our file handles
 	    fileReader.close();
+	    //The last partial batch, or the end of the file if it ended on a full one
+	    if (listener != null && reading) {
+	        listener.batchRead(read, linesRead, linesRejected);
+	    }
 	    //Return the ArrayList with all the courses we read!
 	    return courses;
 	}
+	
 	/**
-	 * Reads course string and returns a course object that defines the courses characteristics.
-	 * @param nextLine nextLine input for the scanner to read the course string.
-	 * @return Course returns a course object for the inputed course string.
+	 * Reads course records from a file by memory mapping it instead of streaming it through
+	 * a reader, which avoids copying the bytes of very large catalog files several times.
+	 * The records are decoded directly from the mapped buffer. The same lines are accepted,
+	 * rejected, and removed as duplicates as with readCourseRecords(). Files in a charset that
+	 * does not encode ASCII as single bytes are read with readCourseRecords() instead.
+	 * @param fileName file to read Course records from
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IOException if the file cannot be mapped
 	 */
-    private static Course readCourse(String nextLine) {
-    	//create scanner
-		Scanner courseReader = new Scanner(nextLine);
-		//set , as delimiter
-		courseReader.useDelimiter(",");
-		
-		try {
-			// store each token in a local variable
-			String courseName = courseReader.next();
-			String courseTitle = courseReader.next();
-			String courseSection = courseReader.next();
-			int courseCredits = courseReader.nextInt();
-			String courseInstructorId = courseReader.next();
-			String courseMeetingDays = courseReader.next();
-			
-			//arranged
-			if("A".equals(courseMeetingDays)) {
-				//if there is a time listed, throw exception
-				if(courseReader.hasNext()) {
-					courseReader.close();
-					throw new IllegalArgumentException("Too many tokens.");
+	public static ArrayList<Course> readCourseRecordsMapped(String fileName) throws IOException {
+		return readCourseRecordsMapped(fileName, MAX_MAPPED_WINDOW, null, 0);
+	}
+	
+	/**
+	 * Reads course records from a file using every core of the common ForkJoinPool. The
+	 * file is memory mapped and split into chunks at line boundaries, each chunk is parsed
+	 * and validated on its own task, and the chunks are merged back in file order. The same
+	 * lines are accepted, rejected, and removed as duplicates as with readCourseRecords().
+	 * @param fileName file to read Course records from
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IOException if the file cannot be mapped
+	 */
+	public static ArrayList<Course> readCourseRecordsParallel(String fileName) throws IOException {
+		return readCourseRecordsParallel(fileName, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Reads course records from a file in parallel on the given pool. Works the same way as
+	 * readCourseRecordsParallel(String).
+	 * @param fileName file to read Course records from
+	 * @param pool pool the file is parsed on
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IOException if the file cannot be mapped
+	 */
+	public static ArrayList<Course> readCourseRecordsParallel(String fileName, ForkJoinPool pool) throws IOException {
+		return readCourseRecordsMapped(fileName, MAX_MAPPED_WINDOW, pool, 0);
+	}
+	
+	/**
+	 * Reads course records from a file by mapping it one window at a time. A line that
+	 * continues past the end of a window is read again at the start of the next window.
+	 * @param fileName file to read Course records from
+	 * @param windowSize most bytes to map at once
+	 * @param pool pool to parse each window on in parallel, or null to parse on this thread
+	 * @param minChunkSize smallest chunk given its own task when parsing in parallel, or 0
+	 *                     for the default
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IOException if the file cannot be mapped
+	 */
+	static ArrayList<Course> readCourseRecordsMapped(String fileName, long windowSize, ForkJoinPool pool,
+			int minChunkSize) throws IOException {
+		Charset charset = Charset.defaultCharset();
+		if (!MappedCourseRecordReader.isAsciiCompatible(charset)) {
+			return readCourseRecords(fileName);
+		}
+		ArrayList<Course> parsed = new ArrayList<Course>();
+		MappedCourseRecordReader reader = new MappedCourseRecordReader(charset);
+		ParallelCourseRecordParser parallelParser = null;
+		if (pool != null) {
+			parallelParser = minChunkSize > 0 ? new ParallelCourseRecordParser(pool, charset, minChunkSize)
+					: new ParallelCourseRecordParser(pool, charset);
+		}
+		try (RandomAccessFile file = new RandomAccessFile(fileName, "r")) {
+			FileChannel channel = file.getChannel();
+			long size = channel.size();
+			long position = 0;
+			//true while skipping the rest of a line too long to fit in one window
+			boolean skipping = false;
+			while (position < size) {
+				int length = (int) Math.min(windowSize, size - position);
+				boolean endOfInput = position + length == size;
+				MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+				int start = 0;
+				if (skipping) {
+					while (start < length && buf.get(start) != '\n' && buf.get(start) != '\r') {
+						start++;
+					}
+					if (start == length) {
+						position += length;
+						continue;
+					}
+					skipping = false;
 				}
-				else {
-					courseReader.close();
-					//course constructor without times
-					return new Course(courseName, courseTitle, courseSection, courseCredits, courseInstructorId, courseMeetingDays);
+				int consumed = parallelParser == null ? reader.parseLines(buf, start, length, endOfInput, parsed)
+						: parallelParser.parseLines(buf, start, length, endOfInput, parsed);
+				if (consumed == 0 && !endOfInput) {
+					//a line longer than a whole window can't be mapped in one piece, so skip it
+					skipping = true;
+					consumed = length;
 				}
+				position += consumed;
 			}
-			else {
-				//store time tokens in local variables
-				int courseStartTime = courseReader.nextInt();
-				int courseEndTime = courseReader.nextInt();
-				
-				//if too many tokens, throw exception
-				if(courseReader.hasNext()) {
-					courseReader.close();
-					throw new IllegalArgumentException("Too many tokens.");
-				}
-				courseReader.close();
-				//course constructor with times
-				return new Course(courseName, courseTitle, courseSection, courseCredits, courseInstructorId, courseMeetingDays, courseStartTime, courseEndTime);
+		}
+		return removeDuplicates(parsed);
+	}
+	
+	/**
+	 * Returns the courses in the same order without any course whose name and section
+	 * appeared earlier in the list, so the first occurrence of a duplicate is kept.
+	 * @param parsed courses in the order they were read
+	 * @return courses with duplicates removed
+	 */
+	private static ArrayList<Course> removeDuplicates(ArrayList<Course> parsed) {
+		ArrayList<Course> courses = new ArrayList<Course>(parsed.size());
+		HashSet<String> seen = new HashSet<String>(parsed.size() * 2);
+		for (int i = 0; i < parsed.size(); i++) {
+			Course course = parsed.get(i);
+			if (seen.add(course.getName() + "," + course.getSection())) {
+				courses.add(course);
 			}
 		}
-		//throw IAE if NoSuchElementException
-		catch(NoSuchElementException e) {
-			courseReader.close();
-			throw new IllegalArgumentException("IllegalArgumentException.");
+		return courses;
+	}
+	
+	/**
+	 * Advances the tokenizer to the next line. A read error ends the file, which is how
+	 * a Scanner treats one.
+	 * @param fileReader tokenizer reading the file
+	 * @return true if there is another line, false at the end of the file
+	 */
+	private static boolean nextLine(CourseRecordTokenizer fileReader) {
+		try {
+			return fileReader.nextLine();
+		} catch (IOException e) {
+			return false;
 		}
-    }
+	}
 
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Told about the progress of a course records file as it is read, one batch of lines at a
+ * time, so a caller can show the courses read so far and stop a long load early.
+ *
+ * Calls are made on the thread reading the file, after every batch and once more at the end
+ * of the file.
+ *
+ * @author David Mond
+ */
+public interface CourseRecordListener {
+
+	/**
+	 * Called after a batch of lines has been read.
+	 * @param read valid courses read so far, duplicates already removed; the list is a
+	 * read-only view that is only valid during the call, so copy it to keep it
+	 * @param linesRead lines read so far
+	 * @param linesRejected lines read so far that did not give a new course, because they
+	 * were invalid or repeated a course already read
+	 * @return true to keep reading, false to stop and return the courses read so far
+	 */
+	boolean batchRead(List<Course> read, int linesRead, int linesRejected);
+}
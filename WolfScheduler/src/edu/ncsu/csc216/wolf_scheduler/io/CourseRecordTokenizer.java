@@ -0,0 +1,253 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Splits course records into comma separated fields without using a Scanner or regular
+ * expressions. Lines are read one character at a time from a Reader into a reused buffer,
+ * and the int fields are parsed straight out of that buffer. The String fields go through
+ * a StringPool, so a value seen on an earlier line is shared rather than copied, and the
+ * only objects made for a line are the Course and any values not seen before.
+ *
+ * The tokenizer accepts and rejects exactly the same lines as the Scanner based parser in
+ * CourseRecordIO: a leading and a trailing empty field are dropped the same way a Scanner
+ * with a "," delimiter skips them, and int fields are an optional sign followed by digits
+ * that fit in an int.
+ *
+ * @author David Mond
+ */
+class CourseRecordTokenizer {
+
+	/** Number of fields in a record for an arranged course */
+	private static final int ARRANGED_FIELDS = 6;
+	/** Number of fields in a record for a course with meeting times */
+	private static final int TIMED_FIELDS = 8;
+	/** Most fields a line can split into and still be a valid record, counting dropped empty fields */
+	private static final int MAX_RAW_FIELDS = TIMED_FIELDS + 2;
+
+	/** Reader the lines are read from, or null if records are only passed to parseCourse() */
+	private final Reader reader;
+	/** Block of characters read from the reader but not yet consumed */
+	private final char[] block = new char[8192];
+	/** Position of the next unread character in block */
+	private int blockPos;
+	/** Number of valid characters in block */
+	private int blockLen;
+	/** Characters of the current line */
+	private char[] line = new char[256];
+	/** Length of the current line */
+	private int lineLen;
+	/** True if the last line ended with a carriage return, so a following line feed is skipped */
+	private boolean skipLineFeed;
+	/** Start of each field in the last parsed line */
+	private final int[] fieldStart = new int[MAX_RAW_FIELDS];
+	/** End (exclusive) of each field in the last parsed line */
+	private final int[] fieldEnd = new int[MAX_RAW_FIELDS];
+	/** Shared copies of the String field values read so far */
+	private final StringPool pool = new StringPool();
+
+	/**
+	 * Creates a tokenizer that reads course records from the given reader.
+	 * @param reader source of course records
+	 */
+	CourseRecordTokenizer(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Creates a tokenizer that only parses records handed to parseCourse(), for callers
+	 * that find the line boundaries themselves.
+	 */
+	CourseRecordTokenizer() {
+		this(null);
+	}
+
+	/**
+	 * Reads the next line into the line buffer. Lines end at the same characters a Scanner
+	 * treats as line separators.
+	 * @return true if a line was read, false if the end of the input was reached
+	 * @throws IOException if the reader cannot be read
+	 */
+	boolean nextLine() throws IOException {
+		lineLen = 0;
+		boolean readAny = false;
+		while (true) {
+			if (blockPos == blockLen) {
+				blockLen = reader.read(block, 0, block.length);
+				blockPos = 0;
+				if (blockLen <= 0) {
+					blockLen = 0;
+					return readAny;
+				}
+			}
+			char c = block[blockPos++];
+			if (skipLineFeed) {
+				skipLineFeed = false;
+				if (c == '\n') {
+					continue;
+				}
+			}
+			readAny = true;
+			if (isLineSeparator(c)) {
+				skipLineFeed = c == '\r';
+				return true;
+			}
+			if (lineLen == line.length) {
+				char[] bigger = new char[line.length * 2];
+				System.arraycopy(line, 0, bigger, 0, lineLen);
+				line = bigger;
+			}
+			line[lineLen++] = c;
+		}
+	}
+
+	/**
+	 * Builds a Course from the line most recently read by nextLine().
+	 * @return Course for the current line
+	 * @throws IllegalArgumentException if the line is not a valid course record
+	 */
+	Course readCourse() {
+		return parseCourse(line, 0, lineLen);
+	}
+
+	/**
+	 * Closes the underlying reader. As with Scanner, an error while closing is ignored.
+	 */
+	void close() {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			//nothing left to read, so there is nothing to recover
+		}
+	}
+
+	/**
+	 * Builds a Course from a single record stored in buf between start and end. The record
+	 * must not contain a line separator.
+	 * @param buf characters holding the record
+	 * @param start index of the first character of the record
+	 * @param end index one past the last character of the record
+	 * @return Course described by the record
+	 * @throws IllegalArgumentException if the record is not a valid course record
+	 */
+	Course parseCourse(char[] buf, int start, int end) {
+		// Split on every comma, giving up once there are too many fields to be valid
+		int rawFields = 0;
+		int s = start;
+		for (int i = start; i < end; i++) {
+			if (buf[i] == ',') {
+				if (rawFields == MAX_RAW_FIELDS) {
+					throw new IllegalArgumentException("Too many tokens.");
+				}
+				fieldStart[rawFields] = s;
+				fieldEnd[rawFields] = i;
+				rawFields++;
+				s = i + 1;
+			}
+		}
+		if (rawFields == MAX_RAW_FIELDS) {
+			throw new IllegalArgumentException("Too many tokens.");
+		}
+		fieldStart[rawFields] = s;
+		fieldEnd[rawFields] = end;
+		rawFields++;
+
+		// A Scanner skips one delimiter before the first token and never returns an
+		// empty token at the end of the input
+		int first = 0;
+		int last = rawFields;
+		if (fieldStart[first] == fieldEnd[first]) {
+			first++;
+		}
+		if (last > first && fieldStart[last - 1] == fieldEnd[last - 1]) {
+			last--;
+		}
+		int count = last - first;
+		if (count < ARRANGED_FIELDS) {
+			throw new IllegalArgumentException("IllegalArgumentException.");
+		}
+
+		String courseName = field(buf, first);
+		String courseTitle = field(buf, first + 1);
+		String courseSection = field(buf, first + 2);
+		int courseCredits = parseInt(buf, fieldStart[first + 3], fieldEnd[first + 3]);
+		String courseInstructorId = field(buf, first + 4);
+		String courseMeetingDays = field(buf, first + 5);
+
+		if ("A".equals(courseMeetingDays)) {
+			if (count != ARRANGED_FIELDS) {
+				throw new IllegalArgumentException("Too many tokens.");
+			}
+			return new Course(courseName, courseTitle, courseSection, courseCredits, courseInstructorId, courseMeetingDays);
+		}
+		if (count < TIMED_FIELDS) {
+			throw new IllegalArgumentException("IllegalArgumentException.");
+		}
+		int courseStartTime = parseInt(buf, fieldStart[first + 6], fieldEnd[first + 6]);
+		int courseEndTime = parseInt(buf, fieldStart[first + 7], fieldEnd[first + 7]);
+		if (count != TIMED_FIELDS) {
+			throw new IllegalArgumentException("Too many tokens.");
+		}
+		return new Course(courseName, courseTitle, courseSection, courseCredits, courseInstructorId, courseMeetingDays,
+				courseStartTime, courseEndTime);
+	}
+
+	/**
+	 * Returns the given field of the last split record as a String, shared with every
+	 * earlier record that had the same value.
+	 * @param buf characters holding the record
+	 * @param idx index of the field
+	 * @return text of the field
+	 */
+	private String field(char[] buf, int idx) {
+		return pool.intern(buf, fieldStart[idx], fieldEnd[idx] - fieldStart[idx]);
+	}
+
+	/**
+	 * Parses an int made of an optional sign followed by one or more decimal digits, the
+	 * same form Scanner.nextInt() accepts.
+	 * @param buf characters holding the number
+	 * @param start index of the first character
+	 * @param end index one past the last character
+	 * @return value of the number
+	 * @throws IllegalArgumentException if the characters are not an int
+	 */
+	static int parseInt(char[] buf, int start, int end) {
+		int i = start;
+		boolean negative = false;
+		if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+			negative = buf[i] == '-';
+			i++;
+		}
+		if (i == end) {
+			throw new IllegalArgumentException("Invalid number.");
+		}
+		// Accumulate as a negative number so Integer.MIN_VALUE can be represented
+		int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+		int result = 0;
+		for (; i < end; i++) {
+			int digit = Character.digit(buf[i], 10);
+			if (digit < 0 || result < limit / 10) {
+				throw new IllegalArgumentException("Invalid number.");
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				throw new IllegalArgumentException("Invalid number.");
+			}
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+	/**
+	 * Returns true if the character ends a line for a Scanner.
+	 * @param c character to check
+	 * @return true if c is a line separator
+	 */
+	static boolean isLineSeparator(char c) {
+		return c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085';
+	}
+}
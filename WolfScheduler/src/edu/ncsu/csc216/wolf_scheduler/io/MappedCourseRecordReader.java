@@ -0,0 +1,157 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Decodes course records directly out of a ByteBuffer, normally one mapped from the catalog
+ * file. Lines are found by looking for line feed and carriage return bytes, and a line made
+ * only of ASCII bytes is widened straight into a reused char buffer without going through a
+ * CharsetDecoder. Only lines with other bytes are decoded with the file's charset.
+ *
+ * This only works for charsets that encode ASCII characters as the same single bytes, which
+ * is checked with isAsciiCompatible().
+ *
+ * @author David Mond
+ */
+class MappedCourseRecordReader {
+
+	/** Parses the fields of each record */
+	private final CourseRecordTokenizer tokenizer = new CourseRecordTokenizer();
+	/** Decoder for lines that are not plain ASCII */
+	private final CharsetDecoder decoder;
+	/** Characters of the line being parsed */
+	private char[] chars = new char[256];
+
+	/**
+	 * Creates a reader for records encoded with the given charset.
+	 * @param charset charset of the records
+	 */
+	MappedCourseRecordReader(Charset charset) {
+		decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Returns true if the charset encodes the ASCII characters used in course records as the
+	 * same single bytes, so lines can be split and widened byte by byte.
+	 * @param charset charset to check
+	 * @return true if records in the charset can be read by this class
+	 */
+	static boolean isAsciiCompatible(Charset charset) {
+		String ascii = "\n\r, -+09AZaz";
+		return Arrays.equals(ascii.getBytes(charset), ascii.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * Parses every complete line between start and end and adds the valid courses to the list
+	 * in the order they appear. Invalid lines are skipped. Duplicates are not removed.
+	 * @param buf bytes holding the records
+	 * @param start index of the first byte to parse, which must be the start of a line
+	 * @param end index one past the last byte to parse
+	 * @param endOfInput true if the bytes end at the end of the file, so the last line is
+	 *                   complete even without a line separator
+	 * @param courses list the courses are added to
+	 * @return index one past the last line that was parsed; bytes from there to end belong to
+	 *         a line that continues past end
+	 */
+	int parseLines(ByteBuffer buf, int start, int end, boolean endOfInput, List<Course> courses) {
+		int lineStart = start;
+		boolean ascii = true;
+		for (int i = start; i < end; i++) {
+			byte b = buf.get(i);
+			if (b == '\n' || b == '\r') {
+				parseLine(buf, lineStart, i, ascii, courses);
+				if (b == '\r' && i + 1 < end && buf.get(i + 1) == '\n') {
+					i++;
+				}
+				lineStart = i + 1;
+				ascii = true;
+			} else if (b < 0) {
+				ascii = false;
+			}
+		}
+		if (endOfInput && lineStart < end) {
+			parseLine(buf, lineStart, end, ascii, courses);
+			lineStart = end;
+		}
+		return lineStart;
+	}
+
+	/**
+	 * Parses one line and adds it to the list if it is a valid course.
+	 * @param buf bytes holding the line
+	 * @param start index of the first byte of the line
+	 * @param end index one past the last byte of the line
+	 * @param ascii true if every byte of the line is ASCII
+	 * @param courses list the course is added to
+	 */
+	private void parseLine(ByteBuffer buf, int start, int end, boolean ascii, List<Course> courses) {
+		//an empty line is never a valid course
+		if (start == end) {
+			return;
+		}
+		if (ascii) {
+			int length = end - start;
+			ensureCapacity(length);
+			for (int i = 0; i < length; i++) {
+				chars[i] = (char) buf.get(start + i);
+			}
+			addCourse(chars, 0, length, courses);
+		} else {
+			CharBuffer decoded;
+			try {
+				decoded = decoder.reset().decode(buf.duplicate().limit(end).position(start));
+			} catch (CharacterCodingException e) {
+				//cannot happen when the decoder replaces bad input, but the line is invalid either way
+				return;
+			}
+			int length = decoded.remaining();
+			ensureCapacity(length);
+			decoded.get(chars, 0, length);
+			//decoded text can still hold separators that are not a single ASCII byte
+			int recordStart = 0;
+			for (int i = 0; i < length; i++) {
+				if (CourseRecordTokenizer.isLineSeparator(chars[i])) {
+					addCourse(chars, recordStart, i, courses);
+					recordStart = i + 1;
+				}
+			}
+			addCourse(chars, recordStart, length, courses);
+		}
+	}
+
+	/**
+	 * Parses a single record and adds it to the list if it is valid.
+	 * @param record characters holding the record
+	 * @param start index of the first character
+	 * @param end index one past the last character
+	 * @param courses list the course is added to
+	 */
+	private void addCourse(char[] record, int start, int end, List<Course> courses) {
+		try {
+			courses.add(tokenizer.parseCourse(record, start, end));
+		} catch (IllegalArgumentException e) {
+			//The line is invalid b/c we couldn't create a course, skip it!
+		}
+	}
+
+	/**
+	 * Grows the char buffer so it can hold at least the given number of characters.
+	 * @param length number of characters needed
+	 */
+	private void ensureCapacity(int length) {
+		if (chars.length < length) {
+			chars = new char[Math.max(length, chars.length * 2)];
+		}
+	}
+}
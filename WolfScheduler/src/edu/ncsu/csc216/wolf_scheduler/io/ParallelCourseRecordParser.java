@@ -0,0 +1,167 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Parses the course records in a ByteBuffer on a ForkJoinPool. The bytes are cut into chunks
+ * that each end on a line boundary, every chunk is parsed and validated into Courses by its
+ * own task, and the results are joined back together in file order. Duplicates are not
+ * removed here, because the first occurrence of a course may be in an earlier chunk.
+ * Each chunk pools its field values on its own, so a value repeated across chunks is kept
+ * at most once per chunk rather than once per course.
+ *
+ * @author David Mond
+ */
+class ParallelCourseRecordParser {
+
+	/** Smallest chunk worth handing to its own task */
+	private static final int MIN_CHUNK_SIZE = 64 * 1024;
+	/** Number of chunks made for each worker thread, so uneven chunks still balance out */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	/** Pool the chunks are parsed on */
+	private final ForkJoinPool pool;
+	/** Charset of the records */
+	private final Charset charset;
+	/** Smallest chunk that is split off into its own task */
+	private final int minChunkSize;
+
+	/**
+	 * Creates a parser that runs on the given pool.
+	 * @param pool pool the chunks are parsed on
+	 * @param charset charset of the records
+	 */
+	ParallelCourseRecordParser(ForkJoinPool pool, Charset charset) {
+		this(pool, charset, MIN_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates a parser that runs on the given pool and splits the input into chunks no
+	 * smaller than minChunkSize bytes.
+	 * @param pool pool the chunks are parsed on
+	 * @param charset charset of the records
+	 * @param minChunkSize smallest chunk that gets its own task
+	 */
+	ParallelCourseRecordParser(ForkJoinPool pool, Charset charset, int minChunkSize) {
+		this.pool = pool;
+		this.charset = charset;
+		this.minChunkSize = minChunkSize;
+	}
+
+	/**
+	 * Parses every complete line between start and end and adds the valid courses to the list
+	 * in file order. Works the same way as MappedCourseRecordReader.parseLines().
+	 * @param buf bytes holding the records
+	 * @param start index of the first byte to parse, which must be the start of a line
+	 * @param end index one past the last byte to parse
+	 * @param endOfInput true if the bytes end at the end of the file
+	 * @param courses list the courses are added to
+	 * @return index one past the last line that was parsed
+	 */
+	int parseLines(ByteBuffer buf, int start, int end, boolean endOfInput, List<Course> courses) {
+		int limit = endOfInput ? end : afterLastLine(buf, start, end);
+		if (limit == start) {
+			return start;
+		}
+		int chunks = Math.max(1, Math.min(pool.getParallelism() * CHUNKS_PER_THREAD, (limit - start) / minChunkSize));
+		ArrayList<ParseChunkTask> tasks = new ArrayList<ParseChunkTask>(chunks);
+		int chunkStart = start;
+		for (int k = 1; k <= chunks && chunkStart < limit; k++) {
+			int chunkEnd = k == chunks ? limit : nextLineStart(buf, start + (int) ((long) (limit - start) * k / chunks), limit);
+			if (chunkEnd > chunkStart) {
+				tasks.add(new ParseChunkTask(buf, chunkStart, chunkEnd));
+				chunkStart = chunkEnd;
+			}
+		}
+		for (int i = 0; i < tasks.size(); i++) {
+			pool.execute(tasks.get(i));
+		}
+		//join in order so the courses stay in file order
+		for (int i = 0; i < tasks.size(); i++) {
+			courses.addAll(tasks.get(i).join());
+		}
+		return limit;
+	}
+
+	/**
+	 * Returns the index just after the last line separator before end, or start if there is
+	 * no complete line.
+	 * @param buf bytes holding the records
+	 * @param start index of the first byte
+	 * @param end index one past the last byte
+	 * @return index where the incomplete line at the end starts
+	 */
+	private static int afterLastLine(ByteBuffer buf, int start, int end) {
+		for (int i = end - 1; i >= start; i--) {
+			byte b = buf.get(i);
+			if (b == '\n' || b == '\r') {
+				return i + 1;
+			}
+		}
+		return start;
+	}
+
+	/**
+	 * Returns the index of the first line that starts at or after from.
+	 * @param buf bytes holding the records
+	 * @param from index to start looking at
+	 * @param end index one past the last byte
+	 * @return start of the next line, or end if there is none
+	 */
+	private static int nextLineStart(ByteBuffer buf, int from, int end) {
+		for (int i = from; i < end; i++) {
+			byte b = buf.get(i);
+			if (b == '\n') {
+				return i + 1;
+			}
+			if (b == '\r') {
+				return i + 1 < end && buf.get(i + 1) == '\n' ? i + 2 : i + 1;
+			}
+		}
+		return end;
+	}
+
+	/**
+	 * Parses one chunk of whole lines into Courses.
+	 */
+	private class ParseChunkTask extends RecursiveTask<ArrayList<Course>> {
+		/** ID used for object serialization */
+		private static final long serialVersionUID = 1L;
+		/** Bytes holding the chunk */
+		private final transient ByteBuffer buf;
+		/** Index of the first byte of the chunk */
+		private final int start;
+		/** Index one past the last byte of the chunk */
+		private final int end;
+
+		/**
+		 * Creates a task for the chunk between start and end.
+		 * @param buf bytes holding the chunk
+		 * @param start index of the first byte of the chunk
+		 * @param end index one past the last byte of the chunk
+		 */
+		ParseChunkTask(ByteBuffer buf, int start, int end) {
+			this.buf = buf;
+			this.start = start;
+			this.end = end;
+		}
+
+		/**
+		 * Parses the chunk with a reader of its own, since readers are not thread safe.
+		 * @return valid courses in the chunk, in order
+		 */
+		@Override
+		protected ArrayList<Course> compute() {
+			ArrayList<Course> courses = new ArrayList<Course>();
+			new MappedCourseRecordReader(charset).parseLines(buf, start, end, true, courses);
+			return courses;
+		}
+	}
+}
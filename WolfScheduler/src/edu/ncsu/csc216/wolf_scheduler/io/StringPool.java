@@ -0,0 +1,118 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+/**
+ * Hands out one shared String for each distinct run of characters it is given. Catalog
+ * files repeat the same course names, titles, instructor ids, meeting days, and section
+ * numbers on many lines, so a loader that passes every field through a pool keeps one copy
+ * of each value instead of one per course.
+ *
+ * A field is looked up straight from the characters of the line, so a value already in the
+ * pool costs no allocation at all. The table uses open addressing and keeps each String's
+ * hash next to it, so most misses are decided without comparing characters. A pool is not
+ * thread safe; each loader thread uses its own.
+ *
+ * @author David Mond
+ */
+class StringPool {
+
+	/** Starting number of slots, a power of two */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/** Pooled Strings, or null for an empty slot */
+	private String[] table = new String[INITIAL_CAPACITY];
+	/** Hash of the String in each slot */
+	private int[] hashes = new int[INITIAL_CAPACITY];
+	/** Number of Strings in the pool */
+	private int size;
+
+	/**
+	 * Returns the pooled String holding the given characters, adding one if there isn't
+	 * one yet.
+	 * @param buf characters of the value
+	 * @param start index of the first character
+	 * @param length number of characters
+	 * @return String equal to the characters, the same object every time they are given
+	 */
+	String intern(char[] buf, int start, int length) {
+		//same hash as String.hashCode(), computed without making the String
+		int hash = 0;
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + buf[start + i];
+		}
+		int mask = table.length - 1;
+		int slot = spread(hash) & mask;
+		while (table[slot] != null) {
+			if (hashes[slot] == hash && matches(table[slot], buf, start, length)) {
+				return table[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		String value = new String(buf, start, length);
+		table[slot] = value;
+		hashes[slot] = hash;
+		size++;
+		if (size * 2 > table.length) {
+			grow();
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the number of distinct Strings in the pool.
+	 * @return number of Strings
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if the String holds exactly the given characters.
+	 * @param s String to compare
+	 * @param buf characters to compare against
+	 * @param start index of the first character
+	 * @param length number of characters
+	 * @return true if they are equal
+	 */
+	private static boolean matches(String s, char[] buf, int start, int length) {
+		if (s.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (s.charAt(i) != buf[start + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Mixes the high bits of a hash into the low bits used to pick a slot, since short
+	 * values that differ only in their last character would otherwise cluster.
+	 * @param hash String hash
+	 * @return mixed hash
+	 */
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Doubles the table, keeping it no more than half full.
+	 */
+	private void grow() {
+		String[] oldTable = table;
+		int[] oldHashes = hashes;
+		table = new String[oldTable.length * 2];
+		hashes = new int[oldTable.length * 2];
+		int mask = table.length - 1;
+		for (int i = 0; i < oldTable.length; i++) {
+			if (oldTable[i] != null) {
+				int slot = spread(oldHashes[i]) & mask;
+				while (table[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				table[slot] = oldTable[i];
+				hashes[slot] = oldHashes[i];
+			}
+		}
+	}
+}
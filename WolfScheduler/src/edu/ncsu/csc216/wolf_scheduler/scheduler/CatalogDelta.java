@@ -0,0 +1,63 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Differences between two versions of a catalog, found when the catalog is reloaded.
+ * Courses are matched on name and section. A course is added if only the new catalog has
+ * it, removed if only the old catalog has it, and changed if both have it but any of its
+ * other fields differ.
+ * 
+ * @author David Mond
+ */
+public class CatalogDelta {
+	/** Courses only in the new catalog */
+	private ArrayList<Course> added = new ArrayList<Course>();
+	/** Courses only in the old catalog */
+	private ArrayList<Course> removed = new ArrayList<Course>();
+	/** New versions of courses whose fields changed */
+	private ArrayList<Course> changed = new ArrayList<Course>();
+
+	/**
+	 * Returns the courses that were added, in the order of the new catalog.
+	 * @return added courses
+	 */
+	public ArrayList<Course> getAdded() {
+		return added;
+	}
+
+	/**
+	 * Returns the courses that were removed, in the order of the old catalog.
+	 * @return removed courses
+	 */
+	public ArrayList<Course> getRemoved() {
+		return removed;
+	}
+
+	/**
+	 * Returns the new versions of the courses that changed, in the order of the new catalog.
+	 * @return changed courses
+	 */
+	public ArrayList<Course> getChanged() {
+		return changed;
+	}
+
+	/**
+	 * Returns true if the two catalogs held the same courses.
+	 * @return true if nothing was added, removed, or changed
+	 */
+	public boolean isEmpty() {
+		return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+	}
+
+	/**
+	 * Returns a short summary of the delta.
+	 * @return counts of added, removed, and changed courses
+	 */
+	@Override
+	public String toString() {
+		return "added " + added.size() + ", removed " + removed.size() + ", changed " + changed.size();
+	}
+}
@@ -0,0 +1,109 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a catalog file with a WatchService and reloads it into a WolfScheduler when it
+ * changes, using WolfScheduler.reloadCatalog() so only the differences are applied and the
+ * schedule is kept.
+ *
+ * The watcher never starts a thread of its own. Changes are picked up when poll() is called,
+ * on the calling thread, so the scheduler is only ever touched by the thread that owns it.
+ * A GUI would call poll() from a timer, and a server from whatever thread drives the session.
+ *
+ * The catalog should be updated by writing a new file and renaming it over the old one. A
+ * file that is written in place may be seen half written, and the courses missing from it
+ * would be treated as removed until the write finishes.
+ *
+ * @author David Mond
+ */
+public class CatalogWatcher implements Closeable {
+	/** Scheduler the catalog is reloaded into */
+	private WolfScheduler scheduler;
+	/** Catalog file being watched */
+	private Path catalogFile;
+	/** Watch service for the directory holding the catalog file */
+	private WatchService watchService;
+
+	/**
+	 * Starts watching the given catalog file for the given scheduler.
+	 * @param scheduler scheduler to reload the catalog into
+	 * @param fileName catalog file to watch
+	 * @throws IOException if the file's directory cannot be watched
+	 */
+	public CatalogWatcher(WolfScheduler scheduler, String fileName) throws IOException {
+		this.scheduler = scheduler;
+		this.catalogFile = Paths.get(fileName).toAbsolutePath();
+		this.watchService = FileSystems.getDefault().newWatchService();
+		//a file can't be watched on its own, so watch its directory and filter the events
+		catalogFile.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY);
+	}
+
+	/**
+	 * Reloads the catalog if the file changed since the last call, without waiting.
+	 * @return the delta that was applied, or null if the file did not change
+	 */
+	public CatalogDelta poll() {
+		return reloadIfChanged(watchService.poll());
+	}
+
+	/**
+	 * Waits up to the given time for the file to change, then reloads the catalog.
+	 * @param timeout longest time to wait
+	 * @param unit unit of the timeout
+	 * @return the delta that was applied, or null if the file did not change in time
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public CatalogDelta poll(long timeout, TimeUnit unit) throws InterruptedException {
+		return reloadIfChanged(watchService.poll(timeout, unit));
+	}
+
+	/**
+	 * Stops watching the catalog file.
+	 * @throws IOException if the watch service cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+	}
+
+	/**
+	 * Reloads the catalog if the given key, or any other key already queued, holds an event
+	 * for the catalog file. All queued events are drained first, so a burst of events from
+	 * one write causes a single reload.
+	 * @param key first key to look at, or null if none
+	 * @return the delta that was applied, or null if the catalog file did not change
+	 */
+	private CatalogDelta reloadIfChanged(WatchKey key) {
+		boolean changed = false;
+		while (key != null) {
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW
+						|| catalogFile.getFileName().equals(event.context())) {
+					changed = true;
+				}
+			}
+			key.reset();
+			key = watchService.poll();
+		}
+		if (!changed) {
+			return null;
+		}
+		try {
+			return scheduler.reloadCatalog(catalogFile.toString());
+		} catch (IllegalArgumentException e) {
+			//the file is briefly missing while it is replaced, so wait for the next event
+			return null;
+		}
+	}
+}
@@ -0,0 +1,359 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * A read-only catalog kept as parallel arrays, one per field, instead of a list of Course
+ * objects. Times are int arrays, meeting day masks and credits are byte arrays, and the
+ * String fields are codes into dictionaries holding each distinct value once. A row is the
+ * position of a course in catalog order.
+ *
+ * Scans such as filtering by day, sorting by start time, and building display rows read
+ * straight through one or two small arrays instead of following a pointer to every Course,
+ * and a course takes about 30 bytes instead of a Course object with its own Strings. Course
+ * objects are only made when getCourse() asks for one, and each call makes a new one.
+ *
+ * @author David Mond
+ */
+public final class ColumnarCatalog {
+	/** Minutes in a day, the number of buckets used to sort by start time */
+	private static final int MINUTES_PER_DAY = 24 * 60;
+
+	/** Distinct course names */
+	private final String[] names;
+	/** Distinct titles */
+	private final String[] titles;
+	/** Distinct section numbers */
+	private final String[] sections;
+	/** Distinct instructor ids */
+	private final String[] instructorIds;
+	/** Meeting string shown for each distinct pair of meeting days and times */
+	private final String[] meetingStrings;
+	/** Meeting days as written in the catalog for each meeting string */
+	private final String[] meetingDays;
+
+	/** Name code of each row */
+	private final int[] nameCodes;
+	/** Title code of each row */
+	private final int[] titleCodes;
+	/** Section code of each row */
+	private final int[] sectionCodes;
+	/** Instructor code of each row */
+	private final int[] instructorCodes;
+	/** Meeting string code of each row */
+	private final int[] meetingStringCodes;
+	/** Start time of each row, 0 for arranged courses */
+	private final int[] startTimes;
+	/** End time of each row, 0 for arranged courses */
+	private final int[] endTimes;
+	/** Meeting day mask of each row, 0 for arranged courses */
+	private final byte[] meetingDayMasks;
+	/** Credit hours of each row */
+	private final byte[] credits;
+
+	/**
+	 * Builds the columns for the given courses. The Courses aren't kept, so they can be
+	 * collected once the caller is done with them.
+	 * @param courses courses in catalog order
+	 */
+	public ColumnarCatalog(List<Course> courses) {
+		int size = courses.size();
+		nameCodes = new int[size];
+		titleCodes = new int[size];
+		sectionCodes = new int[size];
+		instructorCodes = new int[size];
+		meetingStringCodes = new int[size];
+		startTimes = new int[size];
+		endTimes = new int[size];
+		meetingDayMasks = new byte[size];
+		credits = new byte[size];
+		Dictionary nameDictionary = new Dictionary();
+		Dictionary titleDictionary = new Dictionary();
+		Dictionary sectionDictionary = new Dictionary();
+		Dictionary instructorDictionary = new Dictionary();
+		Dictionary meetingDictionary = new Dictionary();
+		ArrayList<String> daysOfMeeting = new ArrayList<String>();
+		for (int row = 0; row < size; row++) {
+			Course c = courses.get(row);
+			nameCodes[row] = nameDictionary.code(c.getName());
+			titleCodes[row] = titleDictionary.code(c.getTitle());
+			sectionCodes[row] = sectionDictionary.code(c.getSection());
+			instructorCodes[row] = instructorDictionary.code(c.getInstructorId());
+			//the meeting string starts with the days as written, so it fixes them too
+			meetingStringCodes[row] = meetingDictionary.code(c.getMeetingString());
+			if (meetingStringCodes[row] == daysOfMeeting.size()) {
+				daysOfMeeting.add(c.getMeetingDays());
+			}
+			startTimes[row] = c.getStartTime();
+			endTimes[row] = c.getEndTime();
+			//the seven day bits always fit in a byte
+			meetingDayMasks[row] = (byte) c.getMeetingDayMask();
+			credits[row] = (byte) c.getCredits();
+		}
+		names = nameDictionary.values();
+		titles = titleDictionary.values();
+		sections = sectionDictionary.values();
+		instructorIds = instructorDictionary.values();
+		meetingStrings = meetingDictionary.values();
+		meetingDays = daysOfMeeting.toArray(new String[daysOfMeeting.size()]);
+	}
+
+	/**
+	 * Loads a catalog from a course records file. The Courses read from the file are only
+	 * used to build the columns.
+	 * @param fileName file to read the courses from
+	 * @return the loaded catalog
+	 * @throws IllegalArgumentException if the file cannot be found
+	 */
+	public static ColumnarCatalog load(String fileName) {
+		return new ColumnarCatalog(CourseCatalog.readCourses(fileName));
+	}
+
+	/**
+	 * Gives each distinct String a code, in the order they are first seen.
+	 */
+	private static class Dictionary {
+		/** Code of each String seen so far */
+		private final HashMap<String, Integer> codes = new HashMap<String, Integer>();
+		/** Strings in code order */
+		private final ArrayList<String> values = new ArrayList<String>();
+
+		/**
+		 * Returns the code for a String, giving it the next code if it is new.
+		 * @param value String to look up
+		 * @return code of the String
+		 */
+		int code(String value) {
+			Integer code = codes.get(value);
+			if (code == null) {
+				code = values.size();
+				codes.put(value, code);
+				values.add(value);
+			}
+			return code;
+		}
+
+		/**
+		 * Returns the Strings indexed by code.
+		 * @return the dictionary
+		 */
+		String[] values() {
+			return values.toArray(new String[values.size()]);
+		}
+	}
+
+	/**
+	 * Returns the number of courses.
+	 * @return number of rows
+	 */
+	public int size() {
+		return nameCodes.length;
+	}
+
+	/**
+	 * Returns the name of the course in a row.
+	 * @param row position of the course
+	 * @return course name
+	 */
+	public String getName(int row) {
+		return names[nameCodes[row]];
+	}
+
+	/**
+	 * Returns the title of the course in a row.
+	 * @param row position of the course
+	 * @return course title
+	 */
+	public String getTitle(int row) {
+		return titles[titleCodes[row]];
+	}
+
+	/**
+	 * Returns the section of the course in a row.
+	 * @param row position of the course
+	 * @return section number
+	 */
+	public String getSection(int row) {
+		return sections[sectionCodes[row]];
+	}
+
+	/**
+	 * Returns the instructor id of the course in a row.
+	 * @param row position of the course
+	 * @return instructor id
+	 */
+	public String getInstructorId(int row) {
+		return instructorIds[instructorCodes[row]];
+	}
+
+	/**
+	 * Returns the credit hours of the course in a row.
+	 * @param row position of the course
+	 * @return credit hours
+	 */
+	public int getCredits(int row) {
+		return credits[row];
+	}
+
+	/**
+	 * Returns the start time of the course in a row.
+	 * @param row position of the course
+	 * @return start time, 0 if arranged
+	 */
+	public int getStartTime(int row) {
+		return startTimes[row];
+	}
+
+	/**
+	 * Returns the end time of the course in a row.
+	 * @param row position of the course
+	 * @return end time, 0 if arranged
+	 */
+	public int getEndTime(int row) {
+		return endTimes[row];
+	}
+
+	/**
+	 * Returns the meeting day mask of the course in a row.
+	 * @param row position of the course
+	 * @return meeting day mask, 0 if arranged
+	 */
+	public int getMeetingDayMask(int row) {
+		return meetingDayMasks[row];
+	}
+
+	/**
+	 * Makes a Course holding the fields of a row. Changing it doesn't change the catalog.
+	 * @param row position of the course
+	 * @return a new Course
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public Course getCourse(int row) {
+		return new Course(getName(row), getTitle(row), getSection(row), credits[row], getInstructorId(row),
+				meetingDays[meetingStringCodes[row]], startTimes[row], endTimes[row]);
+	}
+
+	/**
+	 * Makes a Course for each of the given rows.
+	 * @param rows positions of the courses
+	 * @return new Courses in the order of the rows
+	 */
+	public ArrayList<Course> getCourses(int[] rows) {
+		ArrayList<Course> result = new ArrayList<Course>(rows.length);
+		for (int i = 0; i < rows.length; i++) {
+			result.add(getCourse(rows[i]));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the rows of the courses that meet on exactly the given days, in catalog order.
+	 * The order of the days doesn't matter, and "A" finds the arranged courses. Days that
+	 * aren't days, or a day given twice, find nothing.
+	 * @param days meeting days as a series of chars
+	 * @return matching rows
+	 */
+	public int[] findByMeetingDays(String days) {
+		int mask = Activity.parseMeetingDayMask(days);
+		if (mask < 0) {
+			return new int[0];
+		}
+		int[] rows = new int[size()];
+		int found = 0;
+		for (int row = 0; row < meetingDayMasks.length; row++) {
+			if (meetingDayMasks[row] == mask) {
+				rows[found++] = row;
+			}
+		}
+		return Arrays.copyOf(rows, found);
+	}
+
+	/**
+	 * Returns the rows of the courses that meet on at least one of the days in the mask, in
+	 * catalog order.
+	 * @param dayMask days to look for, built from the Activity day constants
+	 * @return matching rows
+	 */
+	public int[] findMeetingOn(int dayMask) {
+		int[] rows = new int[size()];
+		int found = 0;
+		for (int row = 0; row < meetingDayMasks.length; row++) {
+			if ((meetingDayMasks[row] & dayMask) != 0) {
+				rows[found++] = row;
+			}
+		}
+		return Arrays.copyOf(rows, found);
+	}
+
+	/**
+	 * Returns every row ordered by start time, keeping catalog order for equal times.
+	 * Arranged courses have no time and come first. The sort counts the courses starting in
+	 * each minute of the day, so it takes linear time.
+	 * @return rows by start time
+	 */
+	public int[] sortByStartTime() {
+		int[] starts = new int[MINUTES_PER_DAY + 1];
+		for (int row = 0; row < startTimes.length; row++) {
+			starts[minuteOf(startTimes[row]) + 1]++;
+		}
+		for (int m = 1; m < starts.length; m++) {
+			starts[m] += starts[m - 1];
+		}
+		int[] rows = new int[size()];
+		for (int row = 0; row < startTimes.length; row++) {
+			rows[starts[minuteOf(startTimes[row])]++] = row;
+		}
+		return rows;
+	}
+
+	/**
+	 * Converts a time such as 1330 to minutes after midnight.
+	 * @param time time as hours and minutes
+	 * @return minutes after midnight
+	 */
+	private static int minuteOf(int time) {
+		return time / 100 * 60 + time % 100;
+	}
+
+	/**
+	 * Builds the short display rows for every course, the same rows as
+	 * WolfScheduler.getCourseCatalog(), without making any Course objects.
+	 * @return rows of name, section, title, and meeting string
+	 */
+	public String[][] getShortDisplayArray() {
+		String[][] display = new String[size()][];
+		for (int row = 0; row < display.length; row++) {
+			display[row] = shortDisplay(row);
+		}
+		return display;
+	}
+
+	/**
+	 * Builds the short display rows for the given rows, in that order.
+	 * @param rows positions of the courses
+	 * @return rows of name, section, title, and meeting string
+	 */
+	public String[][] getShortDisplayArray(int[] rows) {
+		String[][] display = new String[rows.length][];
+		for (int i = 0; i < rows.length; i++) {
+			display[i] = shortDisplay(rows[i]);
+		}
+		return display;
+	}
+
+	/**
+	 * Builds the short display row of one course.
+	 * @param row position of the course
+	 * @return name, section, title, and meeting string
+	 */
+	private String[] shortDisplay(int row) {
+		return new String[] {names[nameCodes[row]], sections[sectionCodes[row]], titles[titleCodes[row]],
+				meetingStrings[meetingStringCodes[row]]};
+	}
+}
@@ -0,0 +1,374 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Finds time conflicts between Activities. Two activities conflict if they share a meeting
+ * day and their times overlap, including when one ends at the same time the other starts.
+ * Arranged activities never conflict with anything.
+ *
+ * Each day of the week has its own interval tree of the activities that meet that day. The
+ * trees are treaps ordered on start time, and every node also keeps the latest end time in
+ * its subtree, so a query skips every subtree that ends before the candidate starts. Adding,
+ * removing, and finding the k conflicts of a candidate take O(log n + k) expected time, which
+ * keeps checks fast against a large schedule or a whole catalog.
+ *
+ * Activities must not have their days or times changed while they are in the detector.
+ *
+ * @author David Mond
+ */
+public class ConflictDetector {
+	/** Number of days in a week */
+	private static final int DAYS = 7;
+
+	/** Expected number of activities, kept small since most detectors hold one schedule */
+	private static final int EXPECTED_SIZE = 8;
+
+	/** Root of the interval tree for each day, indexed by the day's bit position */
+	private Node[] roots = new Node[DAYS];
+	/** Sequence number of each activity in the detector, used to tell equal intervals apart */
+	private IdentityHashMap<Activity, Long> sequence = new IdentityHashMap<Activity, Long>(EXPECTED_SIZE);
+	/** Next sequence number to hand out */
+	private long nextSequence;
+	/** State of the xorshift generator for treap priorities, which is lighter than a Random */
+	private int seed = 216;
+
+	/**
+	 * Creates an empty detector.
+	 */
+	public ConflictDetector() {
+		//nothing to set up until activities are added
+	}
+
+	/**
+	 * Creates a detector holding the given activities, for example a whole catalog.
+	 * @param activities activities to add
+	 */
+	public ConflictDetector(List<? extends Activity> activities) {
+		for (int i = 0; i < activities.size(); i++) {
+			add(activities.get(i));
+		}
+	}
+
+	/**
+	 * Returns the number of activities in the detector.
+	 * @return number of activities
+	 */
+	public int size() {
+		return sequence.size();
+	}
+
+	/**
+	 * Adds an activity to the detector. Conflicting activities can be added; it is up to the
+	 * caller to check first.
+	 * @param activity activity to add
+	 * @throws IllegalArgumentException if the activity is already in the detector
+	 */
+	public void add(Activity activity) {
+		if (sequence.containsKey(activity)) {
+			throw new IllegalArgumentException("Activity is already in the detector.");
+		}
+		long seq = nextSequence++;
+		sequence.put(activity, seq);
+		int mask = activity.getMeetingDayMask();
+		for (int day = 0; day < DAYS; day++) {
+			if ((mask & (1 << day)) != 0) {
+				roots[day] = insert(roots[day], new Node(activity, seq, nextPriority()));
+			}
+		}
+	}
+
+	/**
+	 * Removes an activity from the detector.
+	 * @param activity activity to remove
+	 * @return true if the activity was in the detector
+	 */
+	public boolean remove(Activity activity) {
+		Long seq = sequence.remove(activity);
+		if (seq == null) {
+			return false;
+		}
+		int mask = activity.getMeetingDayMask();
+		for (int day = 0; day < DAYS; day++) {
+			if ((mask & (1 << day)) != 0) {
+				roots[day] = delete(roots[day], activity.getStartTime(), activity.getEndTime(), seq);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes every activity from the detector.
+	 */
+	public void clear() {
+		roots = new Node[DAYS];
+		sequence.clear();
+	}
+
+	/**
+	 * Returns the next treap priority.
+	 * @return a pseudo-random int
+	 */
+	private int nextPriority() {
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		return seed;
+	}
+
+	/**
+	 * Returns true if the candidate conflicts with any activity in the detector. The
+	 * candidate itself is never counted as a conflict.
+	 * @param candidate activity to check
+	 * @return true if there is at least one conflict
+	 */
+	public boolean hasConflict(Activity candidate) {
+		int mask = candidate.getMeetingDayMask();
+		for (int day = 0; day < DAYS; day++) {
+			if ((mask & (1 << day)) != 0 && anyOverlap(roots[day], candidate)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns every activity in the detector that conflicts with the candidate, each one
+	 * once even if it conflicts on several days. The candidate itself is never included.
+	 * @param candidate activity to check
+	 * @return conflicting activities, in no particular order
+	 */
+	public ArrayList<Activity> findConflicts(Activity candidate) {
+		ArrayList<Activity> conflicts = new ArrayList<Activity>();
+		IdentityHashMap<Activity, Boolean> found = new IdentityHashMap<Activity, Boolean>();
+		int mask = candidate.getMeetingDayMask();
+		for (int day = 0; day < DAYS; day++) {
+			if ((mask & (1 << day)) != 0) {
+				collectOverlaps(roots[day], candidate, found, conflicts);
+			}
+		}
+		return conflicts;
+	}
+
+	/**
+	 * Returns true if any interval in the subtree overlaps the candidate's times.
+	 * @param node root of the subtree
+	 * @param candidate activity to check
+	 * @return true if there is an overlap
+	 */
+	private static boolean anyOverlap(Node node, Activity candidate) {
+		int start = candidate.getStartTime();
+		int end = candidate.getEndTime();
+		while (node != null && node.maxEnd >= start) {
+			if (node.activity != candidate && node.start <= end && node.end >= start) {
+				return true;
+			}
+			if (node.left != null && node.left.maxEnd >= start) {
+				if (anyOverlap(node.left, candidate)) {
+					return true;
+				}
+			}
+			if (node.start > end) {
+				//everything to the right starts even later
+				return false;
+			}
+			node = node.right;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds every activity in the subtree whose interval overlaps the candidate's times.
+	 * @param node root of the subtree
+	 * @param candidate activity to check
+	 * @param found activities already collected
+	 * @param conflicts list the conflicts are added to
+	 */
+	private static void collectOverlaps(Node node, Activity candidate, IdentityHashMap<Activity, Boolean> found,
+			ArrayList<Activity> conflicts) {
+		int start = candidate.getStartTime();
+		int end = candidate.getEndTime();
+		while (node != null && node.maxEnd >= start) {
+			collectOverlaps(node.left, candidate, found, conflicts);
+			if (node.start > end) {
+				return;
+			}
+			if (node.end >= start && node.activity != candidate && found.put(node.activity, Boolean.TRUE) == null) {
+				conflicts.add(node.activity);
+			}
+			node = node.right;
+		}
+	}
+
+	/**
+	 * Inserts a node into the treap.
+	 * @param root root of the subtree
+	 * @param node node to insert
+	 * @return new root of the subtree
+	 */
+	private static Node insert(Node root, Node node) {
+		if (root == null) {
+			return node;
+		}
+		if (node.compareTo(root) < 0) {
+			root.left = insert(root.left, node);
+			if (root.left.priority > root.priority) {
+				root = rotateRight(root);
+			}
+		} else {
+			root.right = insert(root.right, node);
+			if (root.right.priority > root.priority) {
+				root = rotateLeft(root);
+			}
+		}
+		root.update();
+		return root;
+	}
+
+	/**
+	 * Deletes the node with the given key from the treap.
+	 * @param root root of the subtree
+	 * @param start start time of the node
+	 * @param end end time of the node
+	 * @param seq sequence number of the node
+	 * @return new root of the subtree
+	 */
+	private static Node delete(Node root, int start, int end, long seq) {
+		if (root == null) {
+			return null;
+		}
+		int cmp = Node.compare(start, end, seq, root);
+		if (cmp < 0) {
+			root.left = delete(root.left, start, end, seq);
+		} else if (cmp > 0) {
+			root.right = delete(root.right, start, end, seq);
+		} else {
+			if (root.left == null) {
+				return root.right;
+			}
+			if (root.right == null) {
+				return root.left;
+			}
+			//rotate the higher priority child up, then delete from the side the node moved to
+			if (root.left.priority > root.right.priority) {
+				root = rotateRight(root);
+				root.right = delete(root.right, start, end, seq);
+			} else {
+				root = rotateLeft(root);
+				root.left = delete(root.left, start, end, seq);
+			}
+		}
+		root.update();
+		return root;
+	}
+
+	/**
+	 * Rotates the subtree right, making the left child the new root.
+	 * @param root root of the subtree
+	 * @return new root of the subtree
+	 */
+	private static Node rotateRight(Node root) {
+		Node left = root.left;
+		root.left = left.right;
+		left.right = root;
+		root.update();
+		left.update();
+		return left;
+	}
+
+	/**
+	 * Rotates the subtree left, making the right child the new root.
+	 * @param root root of the subtree
+	 * @return new root of the subtree
+	 */
+	private static Node rotateLeft(Node root) {
+		Node right = root.right;
+		root.right = right.left;
+		right.left = root;
+		root.update();
+		right.update();
+		return right;
+	}
+
+	/**
+	 * Node of a day's interval tree. Nodes are ordered on start time, then end time, then
+	 * sequence number, so every node has a unique key.
+	 */
+	private static class Node {
+		/** Activity the interval belongs to */
+		private final Activity activity;
+		/** Start time of the interval */
+		private final int start;
+		/** End time of the interval */
+		private final int end;
+		/** Sequence number of the activity */
+		private final long seq;
+		/** Treap priority; parents always have a higher priority than their children */
+		private final int priority;
+		/** Latest end time of any interval in this subtree */
+		private int maxEnd;
+		/** Left child */
+		private Node left;
+		/** Right child */
+		private Node right;
+
+		/**
+		 * Creates a node for the activity.
+		 * @param activity activity the interval belongs to
+		 * @param seq sequence number of the activity
+		 * @param priority treap priority
+		 */
+		Node(Activity activity, long seq, int priority) {
+			this.activity = activity;
+			this.start = activity.getStartTime();
+			this.end = activity.getEndTime();
+			this.seq = seq;
+			this.priority = priority;
+			this.maxEnd = end;
+		}
+
+		/**
+		 * Recomputes maxEnd from the children.
+		 */
+		void update() {
+			maxEnd = end;
+			if (left != null && left.maxEnd > maxEnd) {
+				maxEnd = left.maxEnd;
+			}
+			if (right != null && right.maxEnd > maxEnd) {
+				maxEnd = right.maxEnd;
+			}
+		}
+
+		/**
+		 * Compares this node's key to another node's key.
+		 * @param other node to compare to
+		 * @return negative, zero, or positive as this key is less than, equal to, or greater
+		 */
+		int compareTo(Node other) {
+			return compare(start, end, seq, other);
+		}
+
+		/**
+		 * Compares a key to a node's key.
+		 * @param start start time of the key
+		 * @param end end time of the key
+		 * @param seq sequence number of the key
+		 * @param node node to compare to
+		 * @return negative, zero, or positive as the key is less than, equal to, or greater
+		 */
+		static int compare(int start, int end, long seq, Node node) {
+			if (start != node.start) {
+				return Integer.compare(start, node.start);
+			}
+			if (end != node.end) {
+				return Integer.compare(end, node.end);
+			}
+			return Long.compare(seq, node.seq);
+		}
+	}
+}
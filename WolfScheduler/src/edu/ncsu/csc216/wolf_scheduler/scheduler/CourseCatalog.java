@@ -0,0 +1,487 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogSnapshotReader;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogSnapshotWriter;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * An immutable catalog of Courses with its lookup indexes. A catalog is loaded once and can
+ * be shared by any number of WolfScheduler sessions on any number of threads, since nothing
+ * in it changes after it is built. Loading a new version of the catalog makes a new
+ * CourseCatalog, which sessions switch to with WolfScheduler.setCatalog().
+ *
+ * The Courses themselves are mutable objects, so code holding a shared catalog must not
+ * call their setters.
+ *
+ * @author David Mond
+ */
+public final class CourseCatalog {
+	/** Added to a catalog file's name to name its snapshot */
+	public static final String SNAPSHOT_SUFFIX = ".snapshot";
+	/** Courses in catalog order */
+	private final List<Course> courses;
+	/** Sections of each course keyed on course name, each list ordered by section; also
+	 * finds a course by name and section */
+	private final HashMap<String, ArrayList<Course>> sections;
+	/** Courses keyed on instructor id, in catalog order */
+	private final HashMap<String, ArrayList<Course>> byInstructor;
+	/** Courses keyed on meeting day mask, with arranged courses under 0, in catalog order */
+	private final HashMap<Integer, ArrayList<Course>> byMeetingDays;
+	/** Courses keyed on credit hours, in catalog order */
+	private final HashMap<Integer, ArrayList<Course>> byCredits;
+	/** Prefix index over course names and titles, built by the first search */
+	private volatile CourseSearchIndex searchIndex;
+	/** Lock held while the search index is built */
+	private final Object searchLock = new Object();
+
+	/**
+	 * Creates a catalog holding the given courses, which must already be free of duplicates.
+	 * @param courses courses in catalog order
+	 */
+	public CourseCatalog(List<Course> courses) {
+		this.courses = Collections.unmodifiableList(new ArrayList<Course>(courses));
+		this.sections = new HashMap<String, ArrayList<Course>>();
+		this.byInstructor = new HashMap<String, ArrayList<Course>>();
+		this.byMeetingDays = new HashMap<Integer, ArrayList<Course>>();
+		this.byCredits = new HashMap<Integer, ArrayList<Course>>();
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			addTo(sections, c.getName(), c);
+			addTo(byInstructor, c.getInstructorId(), c);
+			addTo(byMeetingDays, c.getMeetingDayMask(), c);
+			addTo(byCredits, c.getCredits(), c);
+		}
+		for (ArrayList<Course> list : sections.values()) {
+			sortSections(list);
+		}
+	}
+
+	/**
+	 * Creates the catalog a reload makes from an older one, copying only the index lists the
+	 * delta touches. Every other list is shared with the older catalog, which never changes
+	 * them either. The courses the older catalog kept must be in the same order in merged.
+	 * @param old catalog being reloaded
+	 * @param merged courses of the new catalog in catalog order, owned by the new catalog
+	 * @param delta courses added, removed, and changed since the older catalog
+	 * @param replaced the older catalog's versions of the changed courses
+	 */
+	private CourseCatalog(CourseCatalog old, ArrayList<Course> merged, CatalogDelta delta, ArrayList<Course> replaced) {
+		HashSet<String> names = new HashSet<String>();
+		HashSet<String> instructors = new HashSet<String>();
+		HashSet<Integer> days = new HashSet<Integer>();
+		HashSet<Integer> credits = new HashSet<Integer>();
+		ArrayList<ArrayList<Course>> touched = new ArrayList<ArrayList<Course>>();
+		touched.add(delta.getAdded());
+		touched.add(delta.getRemoved());
+		touched.add(delta.getChanged());
+		touched.add(replaced);
+		for (ArrayList<Course> list : touched) {
+			for (int i = 0; i < list.size(); i++) {
+				Course c = list.get(i);
+				names.add(c.getName());
+				instructors.add(c.getInstructorId());
+				days.add(c.getMeetingDayMask());
+				credits.add(c.getCredits());
+			}
+		}
+		this.courses = Collections.unmodifiableList(merged);
+		this.sections = withoutKeys(old.sections, names);
+		this.byInstructor = withoutKeys(old.byInstructor, instructors);
+		this.byMeetingDays = withoutKeys(old.byMeetingDays, days);
+		this.byCredits = withoutKeys(old.byCredits, credits);
+		//refill the touched lists in catalog order
+		for (int i = 0; i < merged.size(); i++) {
+			Course c = merged.get(i);
+			if (names.contains(c.getName())) {
+				addTo(sections, c.getName(), c);
+			}
+			if (instructors.contains(c.getInstructorId())) {
+				addTo(byInstructor, c.getInstructorId(), c);
+			}
+			if (days.contains(c.getMeetingDayMask())) {
+				addTo(byMeetingDays, c.getMeetingDayMask(), c);
+			}
+			if (credits.contains(c.getCredits())) {
+				addTo(byCredits, c.getCredits(), c);
+			}
+		}
+		for (String name : names) {
+			ArrayList<Course> list = sections.get(name);
+			if (list != null) {
+				sortSections(list);
+			}
+		}
+	}
+
+	/**
+	 * Returns a copy of an index that shares its lists but leaves out the given keys.
+	 * @param <K> type of the key
+	 * @param map index to copy
+	 * @param keys keys to leave out
+	 * @return the copy
+	 */
+	private static <K> HashMap<K, ArrayList<Course>> withoutKeys(HashMap<K, ArrayList<Course>> map, HashSet<K> keys) {
+		HashMap<K, ArrayList<Course>> copy = new HashMap<K, ArrayList<Course>>(map);
+		for (K key : keys) {
+			copy.remove(key);
+		}
+		return copy;
+	}
+
+	/**
+	 * Sorts the sections of one course by section number.
+	 * @param list sections of a course
+	 */
+	private static void sortSections(ArrayList<Course> list) {
+		//catalog files are usually in section order already, so this is cheap
+		list.sort((a, b) -> a.getSection().compareTo(b.getSection()));
+	}
+
+	/**
+	 * Adds a course to the list stored under a key, making the list if needed.
+	 * @param <K> type of the key
+	 * @param map index to add to
+	 * @param key key of the list
+	 * @param c course to add
+	 */
+	private static <K> void addTo(HashMap<K, ArrayList<Course>> map, K key, Course c) {
+		ArrayList<Course> list = map.get(key);
+		if (list == null) {
+			list = new ArrayList<Course>();
+			map.put(key, list);
+		}
+		list.add(c);
+	}
+
+	/**
+	 * Loads a catalog from a course records file, or from its snapshot if it has an up to
+	 * date one. See readCourses().
+	 * @param fileName file to read the courses from
+	 * @return the loaded catalog
+	 * @throws IllegalArgumentException if the file cannot be found
+	 */
+	public static CourseCatalog load(String fileName) {
+		return new CourseCatalog(readCourses(fileName));
+	}
+
+	/**
+	 * Reads the courses of a course records file without building a catalog for them.
+	 * The binary snapshot next to the file, named with SNAPSHOT_SUFFIX, is tried first. If
+	 * it is missing, damaged, or was written from an older version of the file, the text is
+	 * read instead and a new snapshot is written for the next load. A snapshot that can't be
+	 * written, such as in a read-only directory, only means the next load reads the text
+	 * again.
+	 * @param fileName file to read the courses from
+	 * @return the courses in catalog order
+	 * @throws IllegalArgumentException if the file cannot be found
+	 */
+	static ArrayList<Course> readCourses(String fileName) {
+		String snapshotName = fileName + SNAPSHOT_SUFFIX;
+		try {
+			return CatalogSnapshotReader.readSnapshot(snapshotName, fileName);
+		} catch (IOException e) {
+			//no usable snapshot, so read the text
+		}
+		ArrayList<Course> courses;
+		try {
+			courses = CourseRecordIO.readCourseRecords(fileName);
+		}
+		catch(FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+		try {
+			CatalogSnapshotWriter.writeSnapshot(snapshotName, fileName, courses);
+		} catch (IOException e) {
+			//the next load reads the text again
+		}
+		return courses;
+	}
+
+	/**
+	 * Loads a new version of this catalog from a course records file. Courses that did not
+	 * change keep the same Course objects, so schedules holding them stay valid.
+	 * @param fileName file to read the courses from
+	 * @return the new catalog
+	 * @throws IllegalArgumentException if the file cannot be found
+	 */
+	public CourseCatalog reload(String fileName) {
+		return merge(readCourses(fileName), new CatalogDelta());
+	}
+
+	/**
+	 * Makes a new catalog from the given courses, reusing this catalog's Course object for
+	 * every course that did not change, and records the differences in the delta. Only the
+	 * index lists holding an added, removed, or changed course are rebuilt; the rest are
+	 * shared with this catalog. If the courses that did not change are in a different order
+	 * than before, every index is rebuilt, since most of the lists would change anyway.
+	 * @param newCourses courses of the new catalog in catalog order
+	 * @param delta delta the added, removed, and changed courses are recorded in
+	 * @return the new catalog
+	 */
+	CourseCatalog merge(List<Course> newCourses, CatalogDelta delta) {
+		ArrayList<Course> merged = new ArrayList<Course>(newCourses.size());
+		ArrayList<Course> replaced = new ArrayList<Course>();
+		HashSet<String> newKeys = new HashSet<String>(newCourses.size() * 2);
+		boolean inOrder = true;
+		int kept = 0; //position in courses just past the last unchanged course kept
+		for (int i = 0; i < newCourses.size(); i++) {
+			Course c = newCourses.get(i);
+			newKeys.add(key(c.getName(), c.getSection()));
+			Course old = getCourse(c.getName(), c.getSection());
+			if (old == null) {
+				delta.getAdded().add(c);
+				merged.add(c);
+			} else if (!old.equals(c)) {
+				delta.getChanged().add(c);
+				replaced.add(old);
+				merged.add(c);
+			} else {
+				//unchanged, so keep the object schedules may already refer to
+				merged.add(old);
+				//the unchanged courses must come in the same order as they do in courses
+				while (inOrder && kept < courses.size() && courses.get(kept) != old) {
+					kept++;
+				}
+				inOrder = inOrder && kept++ < courses.size();
+			}
+		}
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			if (!newKeys.contains(key(c.getName(), c.getSection()))) {
+				delta.getRemoved().add(c);
+			}
+		}
+		if (delta.isEmpty()) {
+			return this;
+		}
+		return inOrder ? new CourseCatalog(this, merged, delta, replaced) : new CourseCatalog(merged);
+	}
+
+	/**
+	 * Builds the key a reload matches courses on for the given name and section. Course names and
+	 * sections never contain commas, so the key is unique for each pair.
+	 * @param name name of the course
+	 * @param section section number of the course
+	 * @return key for the index
+	 */
+	private static String key(String name, String section) {
+		return name + "," + section;
+	}
+
+	/**
+	 * Returns the number of courses in the catalog.
+	 * @return number of courses
+	 */
+	public int size() {
+		return courses.size();
+	}
+
+	/**
+	 * Returns the course at the given position in catalog order.
+	 * @param idx position of the course
+	 * @return the course
+	 * @throws IndexOutOfBoundsException if idx is out of range
+	 */
+	public Course get(int idx) {
+		return courses.get(idx);
+	}
+
+	/**
+	 * Returns every course in catalog order as a list that cannot be changed.
+	 * @return courses in the catalog
+	 */
+	public List<Course> getCourses() {
+		return courses;
+	}
+
+	/**
+	 * Returns the course with the given name and section.
+	 * @param name name of the course
+	 * @param section section number of the course
+	 * @return the course, or null if it isn't in the catalog
+	 */
+	public Course getCourse(String name, String section) {
+		ArrayList<Course> list = sections.get(name);
+		if (list == null || section == null) {
+			return null;
+		}
+		//the sections are in order, so search them by halves
+		int low = 0;
+		int high = list.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = list.get(mid).getSection().compareTo(section);
+			if (cmp == 0) {
+				return list.get(mid);
+			} else if (cmp < 0) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns every section of a course, ordered by section number.
+	 * @param name name of the course
+	 * @return sections of the course, or an empty list if the course isn't in the catalog
+	 */
+	public ArrayList<Course> getSections(String name) {
+		return copy(sections.get(name));
+	}
+
+	/**
+	 * Returns the indexes themselves, for tests that check which lists a reload shares.
+	 * @return the sections, instructor, meeting day, and credit indexes in that order
+	 */
+	List<HashMap<?, ArrayList<Course>>> indexes() {
+		return List.of(sections, byInstructor, byMeetingDays, byCredits);
+	}
+
+	/**
+	 * Returns every course taught by an instructor, in catalog order.
+	 * @param instructorId id of the instructor
+	 * @return the instructor's courses, or an empty list if there are none
+	 */
+	public ArrayList<Course> getCoursesByInstructor(String instructorId) {
+		return copy(byInstructor.get(instructorId));
+	}
+
+	/**
+	 * Returns every course that meets on exactly the given days, in catalog order. The order
+	 * of the days doesn't matter, so "HT" finds the same courses as "TH". "A" finds the
+	 * arranged courses. Days that aren't days, or a day given twice, find nothing.
+	 * @param meetingDays meeting days as a series of chars
+	 * @return courses meeting on those days, or an empty list if there are none
+	 */
+	public ArrayList<Course> getCoursesByMeetingDays(String meetingDays) {
+		return copy(meetingDaysList(meetingDays));
+	}
+
+	/**
+	 * Returns every course worth the given credit hours, in catalog order.
+	 * @param credits credit hours
+	 * @return courses worth that many credits, or an empty list if there are none
+	 */
+	public ArrayList<Course> getCoursesByCredits(int credits) {
+		return copy(byCredits.get(credits));
+	}
+
+	/**
+	 * Returns every course matching all of the given filters, in catalog order. A null
+	 * instructor or meeting days, or credits of 0, matches any course. Invalid meeting days
+	 * match no course. Only the index with
+	 * the fewest courses for its filter is walked, and the other filters are checked on those
+	 * courses, so the time depends on the most selective filter rather than the catalog size.
+	 * @param instructorId id of the instructor, or null for any
+	 * @param meetingDays exact meeting days, or null for any
+	 * @param credits credit hours, or 0 for any
+	 * @return matching courses
+	 */
+	public ArrayList<Course> filter(String instructorId, String meetingDays, int credits) {
+		List<Course> candidates = courses;
+		if (instructorId != null) {
+			candidates = smaller(candidates, byInstructor.get(instructorId));
+		}
+		if (meetingDays != null) {
+			candidates = smaller(candidates, meetingDaysList(meetingDays));
+		}
+		if (credits != 0) {
+			candidates = smaller(candidates, byCredits.get(credits));
+		}
+		int mask = meetingDays == null ? 0 : Activity.parseMeetingDayMask(meetingDays);
+		ArrayList<Course> result = new ArrayList<Course>();
+		for (int i = 0; i < candidates.size(); i++) {
+			Course c = candidates.get(i);
+			if ((instructorId == null || instructorId.equals(c.getInstructorId()))
+					&& (meetingDays == null || mask == c.getMeetingDayMask())
+					&& (credits == 0 || credits == c.getCredits())) {
+				result.add(c);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the first courses, in catalog order, with a word in their name or title that
+	 * starts with the prefix, ignoring case. "csc 2", "216", "software dev", and "FUND" all
+	 * find CSC 216. An empty prefix finds nothing.
+	 * @param prefix start of a word in a course name or title
+	 * @param limit most courses to return
+	 * @return matching courses
+	 * @throws IllegalArgumentException if prefix is null or limit is negative
+	 */
+	public ArrayList<Course> search(String prefix, int limit) {
+		int[] positions = searchIndex().search(prefix, limit);
+		ArrayList<Course> result = new ArrayList<Course>(positions.length);
+		for (int i = 0; i < positions.length; i++) {
+			result.add(courses.get(positions[i]));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the search index, building it on the first call. Catalogs that are never
+	 * searched, like the partial catalogs shown while a file loads, never pay for it.
+	 * @return the search index
+	 */
+	private CourseSearchIndex searchIndex() {
+		CourseSearchIndex result = searchIndex;
+		if (result == null) {
+			synchronized (searchLock) {
+				result = searchIndex;
+				if (result == null) {
+					result = new CourseSearchIndex(courses);
+					searchIndex = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the index list for a meeting days string.
+	 * @param meetingDays meeting days as a series of chars
+	 * @return the list, or null if no course meets on those days
+	 */
+	private List<Course> meetingDaysList(String meetingDays) {
+		int mask = Activity.parseMeetingDayMask(meetingDays);
+		if (mask < 0) {
+			return null;
+		}
+		return byMeetingDays.get(mask);
+	}
+
+	/**
+	 * Returns the shorter of two candidate lists, where null means no candidates.
+	 * @param current current candidates
+	 * @param other candidates for another filter, or null if there are none
+	 * @return the shorter list
+	 */
+	private static List<Course> smaller(List<Course> current, List<Course> other) {
+		if (other == null) {
+			return Collections.emptyList();
+		}
+		return other.size() < current.size() ? other : current;
+	}
+
+	/**
+	 * Copies an index list so callers can't change the index.
+	 * @param list list to copy, or null
+	 * @return a copy, or an empty list if list is null
+	 */
+	private static ArrayList<Course> copy(List<Course> list) {
+		return list == null ? new ArrayList<Course>() : new ArrayList<Course>(list);
+	}
+}
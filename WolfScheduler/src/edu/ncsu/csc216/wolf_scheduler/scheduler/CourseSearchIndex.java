@@ -0,0 +1,477 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * A case-insensitive prefix index over the names and titles of a list of Courses, used for
+ * type-ahead search. Every word of a name or title starts a key, so "fund" finds
+ * "Software Development Fundamentals" and "216" finds "CSC 216", and a key runs to the end
+ * of the name or title, so "software dev" finds it too.
+ *
+ * The keys are kept in a radix tree stored in parallel arrays rather than node objects.
+ * A node stands for a run of characters, stored as an offset into one of the names or
+ * titles rather than as a copy, so the tree takes a few ints per key no matter how long
+ * the keys are. Courses with the same name or title share its keys. Each node where keys
+ * part ways also keeps the first few course positions found anywhere below it, so the
+ * usual type-ahead query is answered by walking the prefix and copying that list, without
+ * visiting the subtree. The index never changes after it is built.
+ *
+ * @author David Mond
+ */
+final class CourseSearchIndex {
+	/** Number of course positions kept at each node where keys part ways */
+	static final int CACHED_MATCHES = 10;
+	/** Marks a missing child or sibling */
+	private static final int NONE = -1;
+
+	/** Courses being indexed, in catalog order */
+	private final List<Course> courses;
+	/** Distinct names and titles, as given */
+	private final String[] texts;
+	/** Positions, in catalog order, of the courses with each name or title */
+	private final int[][] textCourses;
+	/** Name or title holding the characters on the edge into each node */
+	private int[] edgeText;
+	/** Offset in that name or title of the first character on the edge into each node */
+	private int[] edgeStart;
+	/** Number of key characters from the root to the end of each node */
+	private int[] depth;
+	/** First child of each node, children ordered by their first character */
+	private int[] firstChild;
+	/** Next sibling of each node */
+	private int[] nextSibling;
+	/** Start in endTexts of the names and titles whose key ends at each node */
+	private int[] endStart;
+	/** Number of names and titles whose key ends at each node */
+	private int[] endCount;
+	/** Names and titles with a key ending at each node, one run per node */
+	private int[] endTexts;
+	/** First positions, in catalog order, of the courses below each node, or null if the node does not branch */
+	private int[][] top;
+	/** Number of nodes in use, including the root */
+	private int nodes;
+
+	/**
+	 * Builds the index for the given courses.
+	 * @param courses courses to index, in catalog order
+	 */
+	CourseSearchIndex(List<Course> courses) {
+		this.courses = courses;
+		HashMap<String, Integer> ids = new HashMap<String, Integer>();
+		ArrayList<String> textList = new ArrayList<String>();
+		ArrayList<int[]> positions = new ArrayList<int[]>();
+		int[] used = new int[16];
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			used = addText(c.getName(), i, ids, textList, positions, used);
+			used = addText(c.getTitle(), i, ids, textList, positions, used);
+		}
+		texts = textList.toArray(new String[textList.size()]);
+		textCourses = new int[texts.length][];
+		for (int t = 0; t < texts.length; t++) {
+			textCourses[t] = Arrays.copyOf(positions.get(t), used[t]);
+		}
+
+		Long[] keys = wordStarts();
+		Arrays.sort(keys, this::compare);
+		int capacity = 1 + keys.length * 2;
+		edgeText = new int[capacity];
+		edgeStart = new int[capacity];
+		depth = new int[capacity];
+		firstChild = new int[capacity];
+		nextSibling = new int[capacity];
+		endStart = new int[capacity];
+		endCount = new int[capacity];
+		endTexts = new int[keys.length];
+		newNode(0, 0, 0);
+		int[] path = new int[16];
+		int size = 1;
+		long prev = NONE;
+		int ended = 0;
+		for (long key : keys) {
+			int shared = prev == NONE ? 0 : sharedLength(prev, key);
+			prev = key;
+			//leave the path to the previous key where it stops sharing characters with this one
+			int last = NONE;
+			while (depth[path[size - 1]] > shared) {
+				last = path[--size];
+			}
+			int parent = path[size - 1];
+			if (depth[parent] < shared) {
+				//the keys part way along an edge, so split it there
+				int split = newNode(edgeText[last], edgeStart[last], shared);
+				replaceChild(parent, last, split);
+				firstChild[split] = last;
+				edgeStart[last] += shared - depth[parent];
+				parent = split;
+				path = push(path, size++, split);
+			}
+			int text = text(key);
+			int length = texts[text].length() - start(key);
+			if (length == shared) {
+				//same characters as the previous key, which is always the node on top of the path
+				endTexts[ended++] = text;
+				endCount[parent]++;
+				continue;
+			}
+			int leaf = newNode(text, start(key) + shared, length);
+			if (firstChild[parent] == NONE) {
+				firstChild[parent] = leaf;
+			} else {
+				nextSibling[last] = leaf;
+			}
+			endStart[leaf] = ended;
+			endCount[leaf] = 1;
+			endTexts[ended++] = text;
+			path = push(path, size++, leaf);
+		}
+		//drop the spare room now that nothing else will be added
+		edgeText = Arrays.copyOf(edgeText, nodes);
+		edgeStart = Arrays.copyOf(edgeStart, nodes);
+		depth = Arrays.copyOf(depth, nodes);
+		firstChild = Arrays.copyOf(firstChild, nodes);
+		nextSibling = Arrays.copyOf(nextSibling, nodes);
+		endStart = Arrays.copyOf(endStart, nodes);
+		endCount = Arrays.copyOf(endCount, nodes);
+		top = new int[nodes][];
+		firstMatches(0);
+	}
+
+	/**
+	 * Records that a course has the given name or title.
+	 * @param text name or title of the course
+	 * @param position position of the course in catalog order
+	 * @param ids ids of the names and titles seen so far
+	 * @param textList names and titles seen so far, in id order
+	 * @param positions course positions of each name or title, in id order
+	 * @param used number of positions in use in each list
+	 * @return used, grown if a new name or title was added
+	 */
+	private static int[] addText(String text, int position, HashMap<String, Integer> ids,
+			ArrayList<String> textList, ArrayList<int[]> positions, int[] used) {
+		Integer id = ids.get(text);
+		if (id == null) {
+			id = textList.size();
+			ids.put(text, id);
+			textList.add(text);
+			positions.add(new int[1]);
+			if (id == used.length) {
+				used = Arrays.copyOf(used, id * 2);
+			}
+		}
+		int[] list = positions.get(id);
+		int count = used[id];
+		//a course whose name and title are the same is only listed once
+		if (count > 0 && list[count - 1] == position) {
+			return used;
+		}
+		if (count == list.length) {
+			list = Arrays.copyOf(list, count * 2);
+			positions.set(id, list);
+		}
+		list[count] = position;
+		used[id] = count + 1;
+		return used;
+	}
+
+	/**
+	 * Returns a key for every word of every name and title, each packing the id of the text
+	 * in the high half and the offset of the word in the low half.
+	 * @return the keys in no particular order
+	 */
+	private Long[] wordStarts() {
+		ArrayList<Long> keys = new ArrayList<Long>();
+		for (int t = 0; t < texts.length; t++) {
+			String text = texts[t];
+			for (int i = 0; i < text.length(); i++) {
+				if (isWordStart(text, i)) {
+					keys.add((long) t << 32 | i);
+				}
+			}
+		}
+		return keys.toArray(new Long[keys.size()]);
+	}
+
+	/**
+	 * Returns true if a word starts at the given position of the text.
+	 * @param text text to check
+	 * @param i position in the text
+	 * @return true if text[i] is a letter or digit and text[i - 1] is not
+	 */
+	private static boolean isWordStart(String text, int i) {
+		return Character.isLetterOrDigit(text.charAt(i))
+				&& (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)));
+	}
+
+	/**
+	 * Returns the name or title a key is in.
+	 * @param key packed key
+	 * @return id of the name or title
+	 */
+	private static int text(long key) {
+		return (int) (key >>> 32);
+	}
+
+	/**
+	 * Returns the offset of a key in its name or title.
+	 * @param key packed key
+	 * @return offset of the first character of the key
+	 */
+	private static int start(long key) {
+		return (int) key;
+	}
+
+	/**
+	 * Returns a character of a name or title in lower case.
+	 * @param text id of the name or title
+	 * @param i offset of the character
+	 * @return the character in lower case
+	 */
+	private char lower(int text, int i) {
+		return Character.toLowerCase(texts[text].charAt(i));
+	}
+
+	/**
+	 * Compares two keys, ignoring case, with a key ordered before the keys it starts.
+	 * @param a first key
+	 * @param b second key
+	 * @return negative, zero, or positive as a comes before, with, or after b
+	 */
+	private int compare(Long a, Long b) {
+		int shared = sharedLength(a, b);
+		int lengthA = texts[text(a)].length() - start(a);
+		int lengthB = texts[text(b)].length() - start(b);
+		if (shared == lengthA || shared == lengthB) {
+			return lengthA - lengthB;
+		}
+		return lower(text(a), start(a) + shared) - lower(text(b), start(b) + shared);
+	}
+
+	/**
+	 * Returns the number of characters two keys start with in common, ignoring case.
+	 * @param a first key
+	 * @param b second key
+	 * @return length of the common start
+	 */
+	private int sharedLength(long a, long b) {
+		int textA = text(a);
+		int textB = text(b);
+		int length = Math.min(texts[textA].length() - start(a), texts[textB].length() - start(b));
+		int i = 0;
+		while (i < length && lower(textA, start(a) + i) == lower(textB, start(b) + i)) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Makes a new node with no children or keys ending at it.
+	 * @param text name or title holding the characters on the edge into the node
+	 * @param start offset of the first of those characters
+	 * @param end number of key characters from the root to the end of the node
+	 * @return the new node
+	 */
+	private int newNode(int text, int start, int end) {
+		edgeText[nodes] = text;
+		edgeStart[nodes] = start;
+		depth[nodes] = end;
+		firstChild[nodes] = NONE;
+		nextSibling[nodes] = NONE;
+		return nodes++;
+	}
+
+	/**
+	 * Puts a node in place of one of the children of a parent.
+	 * @param parent node whose child is replaced
+	 * @param child child being replaced
+	 * @param replacement node taking its place, which takes no siblings of its own
+	 */
+	private void replaceChild(int parent, int child, int replacement) {
+		nextSibling[replacement] = nextSibling[child];
+		nextSibling[child] = NONE;
+		if (firstChild[parent] == child) {
+			firstChild[parent] = replacement;
+			return;
+		}
+		int prev = firstChild[parent];
+		while (nextSibling[prev] != child) {
+			prev = nextSibling[prev];
+		}
+		nextSibling[prev] = replacement;
+	}
+
+	/**
+	 * Pushes a node on the path stack, growing it if needed.
+	 * @param path nodes from the root to the previous key
+	 * @param size number of nodes on the path
+	 * @param node node to push
+	 * @return the path, grown if needed
+	 */
+	private static int[] push(int[] path, int size, int node) {
+		if (size == path.length) {
+			path = Arrays.copyOf(path, size * 2);
+		}
+		path[size] = node;
+		return path;
+	}
+
+	/**
+	 * Fills in the cached positions of the node and every node below it that branches.
+	 * @param node root of the subtree to fill in
+	 * @return the first positions, in catalog order, of the courses below the node
+	 */
+	private int[] firstMatches(int node) {
+		int[] result = new int[0];
+		int sources = endCount[node];
+		for (int i = 0; i < endCount[node]; i++) {
+			result = merge(result, textCourses[endTexts[endStart[node] + i]]);
+		}
+		for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+			result = merge(result, firstMatches(child));
+			sources++;
+		}
+		if (sources > 1) {
+			top[node] = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Merges two lists of positions in catalog order, keeping at most CACHED_MATCHES.
+	 * @param a first list, in catalog order
+	 * @param b second list, in catalog order
+	 * @return the first positions found in either list, without repeats
+	 */
+	private static int[] merge(int[] a, int[] b) {
+		int[] result = new int[Math.min(CACHED_MATCHES, a.length + b.length)];
+		int i = 0;
+		int j = 0;
+		int size = 0;
+		while (size < result.length && (i < a.length || j < b.length)) {
+			int next;
+			if (j == b.length || (i < a.length && a[i] <= b[j])) {
+				next = a[i++];
+			} else {
+				next = b[j++];
+			}
+			if (size == 0 || result[size - 1] != next) {
+				result[size++] = next;
+			}
+		}
+		return size == result.length ? result : Arrays.copyOf(result, size);
+	}
+
+	/**
+	 * Returns the node reached by following the prefix from the root. If the prefix ends
+	 * part way along an edge, the node at the end of that edge is returned, since every key
+	 * through the edge starts with the prefix.
+	 * @param prefix lower or upper case prefix
+	 * @return the node, or NONE if no key starts with the prefix
+	 */
+	private int find(String prefix) {
+		int node = 0;
+		int i = 0;
+		while (i < prefix.length()) {
+			char ch = Character.toLowerCase(prefix.charAt(i));
+			int child = firstChild[node];
+			while (child != NONE && lower(edgeText[child], edgeStart[child]) < ch) {
+				child = nextSibling[child];
+			}
+			if (child == NONE || lower(edgeText[child], edgeStart[child]) != ch) {
+				return NONE;
+			}
+			int length = depth[child] - depth[node];
+			for (int k = 0; k < length && i < prefix.length(); k++, i++) {
+				if (lower(edgeText[child], edgeStart[child] + k) != Character.toLowerCase(prefix.charAt(i))) {
+					return NONE;
+				}
+			}
+			node = child;
+		}
+		return node;
+	}
+
+	/**
+	 * Returns the number of nodes in the tree.
+	 * @return number of nodes
+	 */
+	int getNodeCount() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the positions of the first courses, in catalog order, whose name or title has a
+	 * word starting with the prefix. Leading and trailing spaces in the prefix are ignored.
+	 * @param prefix start of a word, matched without regard to case
+	 * @param limit most positions to return
+	 * @return matching positions in catalog order
+	 * @throws IllegalArgumentException if prefix is null or limit is negative
+	 */
+	int[] search(String prefix, int limit) {
+		if (prefix == null || limit < 0) {
+			throw new IllegalArgumentException("Invalid search.");
+		}
+		prefix = prefix.trim();
+		if (prefix.isEmpty()) {
+			return new int[0];
+		}
+		int node = find(prefix);
+		if (node == NONE || limit == 0) {
+			return new int[0];
+		}
+		//a node that does not branch has the same courses as the one key or child below it
+		while (top[node] == null && endCount[node] == 0) {
+			node = firstChild[node];
+		}
+		if (top[node] == null) {
+			int[] all = textCourses[endTexts[endStart[node]]];
+			return Arrays.copyOf(all, Math.min(limit, all.length));
+		}
+		int[] kept = top[node];
+		if (kept.length >= limit) {
+			return Arrays.copyOf(kept, limit);
+		}
+		if (kept.length < CACHED_MATCHES) {
+			//fewer courses than the cache holds are below this node, so the cache is all of them
+			return kept.clone();
+		}
+		//asked for more than the cache holds, so collect everything below the node
+		BitSet found = new BitSet(courses.size());
+		collect(node, found);
+		int[] result = new int[Math.min(limit, found.cardinality())];
+		int pos = found.nextSetBit(0);
+		for (int i = 0; i < result.length; i++) {
+			result[i] = pos;
+			pos = found.nextSetBit(pos + 1);
+		}
+		return result;
+	}
+
+	/**
+	 * Marks every course with a key ending at or below the node.
+	 * @param root node whose subtree is collected
+	 * @param found set the positions of the courses are marked in
+	 */
+	private void collect(int root, BitSet found) {
+		int[] stack = new int[16];
+		int size = 0;
+		stack[size++] = root;
+		while (size > 0) {
+			int node = stack[--size];
+			for (int i = 0; i < endCount[node]; i++) {
+				for (int position : textCourses[endTexts[endStart[node] + i]]) {
+					found.set(position);
+				}
+			}
+			for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+				stack = push(stack, size++, child);
+			}
+		}
+	}
+}
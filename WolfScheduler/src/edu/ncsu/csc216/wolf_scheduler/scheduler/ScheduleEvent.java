@@ -0,0 +1,98 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * One change to a WolfScheduler, sent to its ScheduleListeners. Row indexes are positions in
+ * the schedule as returned by getScheduledActivities(), as they were right after the change.
+ *
+ * @author David Mond
+ */
+public class ScheduleEvent {
+
+	/**
+	 * Kinds of change.
+	 */
+	public enum Type {
+		/** An activity was inserted at the index */
+		INSERTED,
+		/** The activity at the index was removed */
+		REMOVED,
+		/** The activity at the index was replaced by a new version from a reloaded catalog */
+		UPDATED,
+		/** Every activity was removed; the count is how many there were */
+		CLEARED,
+		/** The schedule title changed */
+		TITLE_CHANGED,
+		/** The scheduler switched to a different catalog */
+		CATALOG_CHANGED
+	}
+
+	/** Scheduler that changed */
+	private final WolfScheduler source;
+	/** Kind of change */
+	private final Type type;
+	/** Index of the changed row, or -1 if no single row changed */
+	private final int index;
+	/** Activity inserted, removed, or put in place, or null */
+	private final Activity activity;
+	/** Number of rows removed by a clear, otherwise 1 for a row change or 0 */
+	private final int count;
+
+	/**
+	 * Creates an event.
+	 * @param source scheduler that changed
+	 * @param type kind of change
+	 * @param index index of the changed row, or -1
+	 * @param activity activity inserted, removed, or put in place, or null
+	 * @param count number of rows removed by a clear, otherwise 1 for a row change or 0
+	 */
+	ScheduleEvent(WolfScheduler source, Type type, int index, Activity activity, int count) {
+		this.source = source;
+		this.type = type;
+		this.index = index;
+		this.activity = activity;
+		this.count = count;
+	}
+
+	/**
+	 * Returns the scheduler that changed.
+	 * @return the scheduler
+	 */
+	public WolfScheduler getSource() {
+		return source;
+	}
+
+	/**
+	 * Returns the kind of change.
+	 * @return the type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the index of the row that was inserted, removed, or updated.
+	 * @return the row index, or -1 for a clear, title, or catalog change
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the activity that was inserted or removed, or the new version of an updated one.
+	 * @return the activity, or null for a clear, title, or catalog change
+	 */
+	public Activity getActivity() {
+		return activity;
+	}
+
+	/**
+	 * Returns the number of rows the change affected: 1 for an insert, remove, or update,
+	 * the old schedule size for a clear, and 0 otherwise.
+	 * @return number of rows
+	 */
+	public int getCount() {
+		return count;
+	}
+}
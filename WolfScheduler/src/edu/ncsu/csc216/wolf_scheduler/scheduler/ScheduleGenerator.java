@@ -0,0 +1,558 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.lang.ref.Cleaner;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Finds every conflict-free schedule that takes one section of each course on a wishlist.
+ *
+ * The courses are searched with the fewest sections first, and a partial schedule is dropped
+ * as soon as its newest section conflicts with one already chosen, so whole subtrees of
+ * combinations are never looked at. Sections that conflict with the fixed activities, such
+ * as events already on the student's schedule, are dropped before the search starts.
+ *
+ * The top levels of the search are split into fork/join tasks so the search runs on every
+ * core. Every generator shares one pool, whose idle threads go away on their own. count()
+ * only counts schedules. open() and stream() hand schedules over through a bounded queue as
+ * they are found, so a wishlist with millions of schedules never holds more than a few
+ * hundred in memory. When the queue is full, the search saves where it is and gives its
+ * thread back to the pool, and it picks up again once the consumer has taken half the
+ * queue, so searches nobody is reading from don't hold on to threads. Open searches in a
+ * try-with-resources block, since closing them is what stops a search that isn't run to the
+ * end. A search that is dropped without being closed is stopped once it is garbage
+ * collected.
+ *
+ * @author David Mond
+ */
+public class ScheduleGenerator {
+	/** Most schedules waiting in the queue of an open search */
+	public static final int QUEUE_CAPACITY = 256;
+	/** Tasks made for each worker thread, so busy workers can steal from each other */
+	private static final int TASKS_PER_THREAD = 8;
+	/** Pool every search runs in */
+	private static final ForkJoinPool SEARCH_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	/** Stops the searches of Schedules dropped without being closed */
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	/** Sections of each course that don't conflict with the fixed activities, fewest first */
+	private final Course[][] choices;
+	/** Position on the wishlist of the course at each search level */
+	private final int[] wishlistOrder;
+	/** Search levels split into tasks; deeper levels are searched by one thread */
+	private final int splitDepth;
+
+	/**
+	 * Creates a generator for the given wishlist with nothing else on the schedule.
+	 * @param catalog catalog the sections are taken from
+	 * @param courseNames names of the courses to take
+	 * @throws IllegalArgumentException if the wishlist is empty, names a course twice, or
+	 * names a course that isn't in the catalog
+	 */
+	public ScheduleGenerator(CourseCatalog catalog, List<String> courseNames) {
+		this(catalog, courseNames, new ArrayList<Activity>());
+	}
+
+	/**
+	 * Creates a generator for the given wishlist that keeps clear of the fixed activities.
+	 * @param catalog catalog the sections are taken from
+	 * @param courseNames names of the courses to take
+	 * @param fixed activities every schedule must fit around
+	 * @throws IllegalArgumentException if the wishlist is empty, names a course twice, or
+	 * names a course that isn't in the catalog
+	 */
+	public ScheduleGenerator(CourseCatalog catalog, List<String> courseNames, List<? extends Activity> fixed) {
+		if (catalog == null || courseNames == null || courseNames.isEmpty() || fixed == null) {
+			throw new IllegalArgumentException("Invalid course list.");
+		}
+		HashSet<String> seen = new HashSet<String>();
+		Course[][] sections = new Course[courseNames.size()][];
+		for (int i = 0; i < courseNames.size(); i++) {
+			String name = courseNames.get(i);
+			if (!seen.add(name)) {
+				throw new IllegalArgumentException(name + " is listed more than once.");
+			}
+			ArrayList<Course> all = catalog.getSections(name);
+			if (all.isEmpty()) {
+				throw new IllegalArgumentException(name + " is not in the catalog.");
+			}
+			ArrayList<Course> free = new ArrayList<Course>(all.size());
+			for (int j = 0; j < all.size(); j++) {
+				if (!conflictsWithAny(all.get(j), fixed)) {
+					free.add(all.get(j));
+				}
+			}
+			sections[i] = free.toArray(new Course[0]);
+		}
+		//searching the courses with the fewest sections first prunes the most
+		Integer[] order = new Integer[sections.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Integer.compare(sections[a].length, sections[b].length));
+		this.choices = new Course[sections.length][];
+		this.wishlistOrder = new int[sections.length];
+		for (int i = 0; i < order.length; i++) {
+			choices[i] = sections[order[i]];
+			wishlistOrder[i] = order[i];
+		}
+		int depth = 0;
+		long tasks = 1;
+		while (depth < choices.length - 1 && tasks < (long) SEARCH_POOL.getParallelism() * TASKS_PER_THREAD) {
+			tasks *= Math.max(1, choices[depth].length);
+			depth++;
+		}
+		this.splitDepth = depth;
+	}
+
+	/**
+	 * Returns true if the course conflicts with any of the activities.
+	 * @param c course to check
+	 * @param activities activities to check against
+	 * @return true if there is a conflict
+	 */
+	private static boolean conflictsWithAny(Course c, List<? extends Activity> activities) {
+		for (int i = 0; i < activities.size(); i++) {
+			if (c.conflictsWith(activities.get(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Counts the conflict-free schedules without keeping any of them.
+	 * @return number of schedules
+	 */
+	public long count() {
+		return SEARCH_POOL.invoke(new CountTask(new Course[choices.length], 0));
+	}
+
+	/**
+	 * Starts a search and returns an iterator over the schedules it finds. Each schedule
+	 * lists one section per course in wishlist order. Schedules come back in no set order.
+	 * Open it in a try-with-resources block so the search stops when the block is left.
+	 * @return iterator over the schedules
+	 */
+	public Schedules open() {
+		return new Schedules();
+	}
+
+	/**
+	 * Starts a search and returns a sequential stream of the schedules it finds. Closing the
+	 * stream stops the search.
+	 * @return stream of the schedules
+	 */
+	public Stream<ArrayList<Course>> stream() {
+		Schedules schedules = open();
+		Spliterator<ArrayList<Course>> split = Spliterators.spliteratorUnknownSize(schedules,
+				Spliterator.NONNULL | Spliterator.DISTINCT);
+		return StreamSupport.stream(split, false).onClose(schedules::close);
+	}
+
+	/**
+	 * Counts every schedule extending a partial schedule, splitting into subtasks above the
+	 * split depth.
+	 */
+	private class CountTask extends RecursiveTask<Long> {
+		/** ID number used for object serialization. */
+		private static final long serialVersionUID = 1L;
+		/** Sections chosen for the levels above depth */
+		private final Course[] chosen;
+		/** Level this task picks a section for */
+		private final int depth;
+
+		/**
+		 * Creates a task.
+		 * @param chosen sections chosen so far, which the task owns
+		 * @param depth level to pick a section for
+		 */
+		CountTask(Course[] chosen, int depth) {
+			this.chosen = chosen;
+			this.depth = depth;
+		}
+
+		@Override
+		protected Long compute() {
+			if (depth >= splitDepth) {
+				return count(chosen, depth);
+			}
+			ArrayList<CountTask> subtasks = new ArrayList<CountTask>();
+			Course[] sections = choices[depth];
+			for (int i = 0; i < sections.length; i++) {
+				if (fits(chosen, depth, sections[i])) {
+					Course[] next = chosen.clone();
+					next[depth] = sections[i];
+					subtasks.add(new CountTask(next, depth + 1));
+				}
+			}
+			long found = 0;
+			for (CountTask task : invokeAll(subtasks)) {
+				found += task.join();
+			}
+			return found;
+		}
+
+		/**
+		 * Counts every schedule extending a partial schedule on this thread, backtracking in
+		 * place.
+		 * @param partial sections chosen so far
+		 * @param level level to pick a section for
+		 * @return number of schedules found
+		 */
+		private long count(Course[] partial, int level) {
+			if (level == choices.length) {
+				return 1;
+			}
+			long found = 0;
+			Course[] sections = choices[level];
+			for (int i = 0; i < sections.length; i++) {
+				if (fits(partial, level, sections[i])) {
+					partial[level] = sections[i];
+					found += count(partial, level + 1);
+				}
+			}
+			partial[level] = null;
+			return found;
+		}
+	}
+
+	/**
+	 * Adds a walker for every partial schedule down to the split depth.
+	 * @param chosen sections chosen so far, which the walker made for it owns
+	 * @param depth level to pick a section for
+	 * @param walkers list the walkers are added to
+	 */
+	private void addWalkers(Course[] chosen, int depth, ArrayDeque<Walker> walkers) {
+		if (depth >= splitDepth) {
+			walkers.add(new Walker(chosen, depth));
+			return;
+		}
+		Course[] sections = choices[depth];
+		for (int i = 0; i < sections.length; i++) {
+			if (fits(chosen, depth, sections[i])) {
+				Course[] next = chosen.clone();
+				next[depth] = sections[i];
+				addWalkers(next, depth + 1, walkers);
+			}
+		}
+	}
+
+	/**
+	 * Searches every schedule extending one partial schedule, one schedule at a time. The
+	 * walker keeps its place between schedules, so a search can set it aside while the queue
+	 * is full and hand it to any thread later.
+	 */
+	private class Walker {
+		/** Sections chosen so far, one per level */
+		private final Course[] partial;
+		/** Level the walker started at; the levels above it are fixed */
+		private final int top;
+		/** Next section to try at each level */
+		private final int[] next;
+		/** Level a section is being picked for */
+		private int level;
+
+		/**
+		 * Creates a walker.
+		 * @param partial sections chosen for the levels above top, which the walker owns
+		 * @param top level to start picking sections at
+		 */
+		Walker(Course[] partial, int top) {
+			this.partial = partial;
+			this.top = top;
+			this.next = new int[choices.length];
+			this.level = top;
+		}
+
+		/**
+		 * Moves on to the next schedule.
+		 * @return true if there is one, false once every schedule has been found
+		 */
+		boolean advance() {
+			while (level >= top) {
+				Course[] sections = choices[level];
+				Course picked = null;
+				while (picked == null && next[level] < sections.length) {
+					Course section = sections[next[level]++];
+					if (fits(partial, level, section)) {
+						picked = section;
+					}
+				}
+				if (picked == null) {
+					//every section at this level has been tried, so back up
+					partial[level] = null;
+					level--;
+				} else {
+					partial[level] = picked;
+					if (level == choices.length - 1) {
+						return true;
+					}
+					level++;
+					next[level] = 0;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Returns the schedule the walker is on in wishlist order.
+		 * @return one section per course on the wishlist
+		 */
+		ArrayList<Course> schedule() {
+			Course[] inOrder = new Course[partial.length];
+			for (int i = 0; i < partial.length; i++) {
+				inOrder[wishlistOrder[i]] = partial[i];
+			}
+			return new ArrayList<Course>(Arrays.asList(inOrder));
+		}
+	}
+
+	/**
+	 * Returns true if the section doesn't conflict with any section chosen above its level.
+	 * @param partial sections chosen so far
+	 * @param level level of the section
+	 * @param section section to check
+	 * @return true if the section can be added
+	 */
+	private static boolean fits(Course[] partial, int level, Course section) {
+		for (int i = 0; i < level; i++) {
+			if (section.conflictsWith(partial[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The queue and state of one running search. Its walkers are run by at most one task per
+	 * pool thread. A task that fills the queue puts its walker back and ends instead of
+	 * waiting, and taking schedules starts tasks again. The tasks only see this, not the
+	 * Schedules handing its schedules out, so a dropped Schedules can be collected and its
+	 * search stopped. Everything is guarded by this object's lock.
+	 */
+	private class Search {
+		/** Schedules found but not yet taken */
+		private final ArrayDeque<ArrayList<Course>> queue = new ArrayDeque<ArrayList<Course>>();
+		/** Walkers waiting for a task to run them */
+		private final ArrayDeque<Walker> waiting = new ArrayDeque<Walker>();
+		/** Number of tasks running walkers */
+		private int running;
+		/** True once the search is closed */
+		private boolean closed;
+		/** Error the search failed with, if any */
+		private RuntimeException error;
+
+		/**
+		 * Starts the search in the shared pool.
+		 */
+		synchronized void start() {
+			addWalkers(new Course[choices.length], 0, waiting);
+			resume();
+		}
+
+		/**
+		 * Starts tasks for the waiting walkers, up to one per pool thread.
+		 */
+		private void resume() {
+			int tasks = Math.min(SEARCH_POOL.getParallelism() - running, waiting.size());
+			for (int i = 0; i < tasks && !stopped(); i++) {
+				running++;
+				SEARCH_POOL.execute(this::run);
+			}
+		}
+
+		/**
+		 * Returns true if the search was closed or failed.
+		 * @return true if no more schedules should be found
+		 */
+		private boolean stopped() {
+			return closed || error != null;
+		}
+
+		/**
+		 * Runs waiting walkers until none are left, the queue is full, or the search stops.
+		 */
+		private void run() {
+			try {
+				Walker walker = nextWalker();
+				while (walker != null) {
+					boolean more = walker.advance();
+					while (more && put(walker.schedule())) {
+						more = walker.advance();
+					}
+					if (more) {
+						setAside(walker);
+					}
+					walker = nextWalker();
+				}
+			} catch (RuntimeException e) {
+				synchronized (this) {
+					error = e;
+					running--;
+					notifyAll();
+				}
+			}
+		}
+
+		/**
+		 * Takes a waiting walker for the calling task, or ends the task if there is nothing
+		 * it should do.
+		 * @return walker to run, or null if the task should end
+		 */
+		private synchronized Walker nextWalker() {
+			if (stopped() || queue.size() >= QUEUE_CAPACITY || waiting.isEmpty()) {
+				running--;
+				notifyAll();
+				return null;
+			}
+			return waiting.poll();
+		}
+
+		/**
+		 * Puts a walker that isn't done back with the waiting ones.
+		 * @param walker walker to set aside
+		 */
+		private synchronized void setAside(Walker walker) {
+			if (!stopped()) {
+				waiting.push(walker);
+			}
+		}
+
+		/**
+		 * Queues a schedule.
+		 * @param schedule schedule to queue
+		 * @return true if the walker should go on, false if the queue is full or the search
+		 * stopped
+		 */
+		private synchronized boolean put(ArrayList<Course> schedule) {
+			if (stopped()) {
+				return false;
+			}
+			queue.add(schedule);
+			if (queue.size() == 1) {
+				notifyAll();
+			}
+			return queue.size() < QUEUE_CAPACITY;
+		}
+
+		/**
+		 * Takes the next schedule, waiting until one is found or the search ends.
+		 * @return the schedule, or null once the search has found every schedule
+		 * @throws InterruptedException if interrupted while waiting
+		 */
+		synchronized ArrayList<Course> take() throws InterruptedException {
+			while (true) {
+				ArrayList<Course> schedule = queue.poll();
+				if (schedule != null) {
+					if (queue.size() <= QUEUE_CAPACITY / 2) {
+						resume();
+					}
+					return schedule;
+				}
+				if (running == 0 && (waiting.isEmpty() || error != null)) {
+					if (error != null) {
+						throw error;
+					}
+					return null;
+				}
+				resume();
+				wait();
+			}
+		}
+
+		/**
+		 * Stops the search and drops the schedules not yet taken.
+		 */
+		synchronized void close() {
+			closed = true;
+			queue.clear();
+			waiting.clear();
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Iterator over the schedules of one search. The search runs in the background and
+	 * stops whenever QUEUE_CAPACITY schedules are waiting to be taken.
+	 */
+	public class Schedules implements Iterator<ArrayList<Course>>, AutoCloseable {
+		/** Search handing over the schedules */
+		private final Search search;
+		/** Closes the search when this is closed or collected */
+		private final Cleaner.Cleanable cleanable;
+		/** Next schedule to return, or null if it hasn't been taken from the queue yet */
+		private ArrayList<Course> next;
+		/** True once the end of the search has been taken from the queue */
+		private boolean done;
+
+		/**
+		 * Starts the search.
+		 */
+		Schedules() {
+			search = new Search();
+			cleanable = CLEANER.register(this, search::close);
+			search.start();
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next != null) {
+				return true;
+			}
+			if (done) {
+				return false;
+			}
+			try {
+				next = search.take();
+				if (next == null) {
+					done = true;
+					return false;
+				}
+				return true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				close();
+				throw new IllegalStateException("Interrupted while waiting for a schedule.");
+			} catch (RuntimeException e) {
+				//the search failed, so it has nothing more to hand out
+				done = true;
+				throw e;
+			}
+		}
+
+		@Override
+		public ArrayList<Course> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ArrayList<Course> schedule = next;
+			next = null;
+			return schedule;
+		}
+
+		/**
+		 * Stops the search. Schedules not yet taken are dropped.
+		 */
+		@Override
+		public void close() {
+			done = true;
+			next = null;
+			cleanable.clean();
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+/**
+ * Told about every change to a WolfScheduler's schedule, title, or catalog, one change at a
+ * time, so a view can update just the rows that changed instead of rebuilding everything.
+ *
+ * Events are sent on the thread that made the change, in the order the changes happened,
+ * while the scheduler is still locked. A listener must therefore be quick and must not wait
+ * on another thread that uses the same scheduler; a Swing view should hand the event to the
+ * event dispatch thread.
+ *
+ * @author David Mond
+ */
+public interface ScheduleListener {
+
+	/**
+	 * Called after the scheduler changes.
+	 * @param event what changed
+	 */
+	void scheduleChanged(ScheduleEvent event);
+}
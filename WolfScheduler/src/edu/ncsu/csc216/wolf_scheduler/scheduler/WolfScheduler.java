@@ -1,42 +1,165 @@
 package edu.ncsu.csc216.wolf_scheduler.scheduler;	
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.course.Event;
 import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
-import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
 /**
  * Creating the WolfScheduler class, outline of the catalog and schedule. There are many methods
- * in this class that work with the catalog and schedule. There are three fields in this class,
- * the schedule and catalog which are ArrayLists of type Course, and then the title field which
- * is a string, and represents the schedule title.
+ * in this class that work with the catalog and schedule. A WolfScheduler is one student's
+ * session: it holds the schedule, which is an ArrayList of Activities, and the title field which
+ * is a string, and represents the schedule title. The catalog is a CourseCatalog that never
+ * changes, so one catalog can be shared by every session instead of each session loading its own.
+ * 
+ * A WolfScheduler can be used from many threads at once. The catalog is read without locking,
+ * since it is immutable and swapped in through a volatile field; each method reads the field
+ * once so it never mixes two versions. Everything that reads or changes the schedule holds
+ * the scheduler's own lock, so different students' sessions never wait on each other.
+ * 
+ * Every change is also sent to the registered ScheduleListeners as a ScheduleEvent, so a
+ * view can update only the rows that changed.
  * @author David Mond
  */
 public class WolfScheduler {
-	/** Catalog for all the courses*/
-	private ArrayList<Course> catalog = new ArrayList<Course>();
-	/** Schedule to see which courses student is enrolled in */
-	private ArrayList<Activity> schedule = new ArrayList<Activity>();
+	/** Catalog for all the courses, possibly shared with other sessions */
+	private volatile CourseCatalog catalog;
+	/** Schedule to see which courses student is enrolled in, guarded by scheduleLock */
+	private final ArrayList<Activity> schedule = new ArrayList<Activity>();
+	/** Interval trees of the scheduled activities, kept in step with the schedule, guarded by scheduleLock */
+	private final ConflictDetector conflicts = new ConflictDetector();
+	/** Lock held while the schedule is read or changed */
+	private final Object scheduleLock = new Object();
 	/** Title of schedule, defaulted to My Schedule */
-	private String title;
+	private volatile String title;
+	/** Listeners told about every change */
+	private final CopyOnWriteArrayList<ScheduleListener> listeners = new CopyOnWriteArrayList<ScheduleListener>();
 
 	/** 
 	 * Constructor that finds the correct file and sets title to the schedule in the catalog.
 	 * @param title Title of schedule, reads it into the Course if file is found.
 	 */
 	public WolfScheduler(String title) {
-		schedule = new ArrayList<Activity>();
+		this(CourseCatalog.load(title));
+	}
+	/**
+	 * Constructor that starts an empty schedule using an already loaded catalog, which can be
+	 * shared with other WolfSchedulers.
+	 * @param catalog catalog of courses that can be scheduled
+	 * @throws IllegalArgumentException if the catalog is null
+	 */
+	public WolfScheduler(CourseCatalog catalog) {
+		if(catalog == null) {
+			throw new IllegalArgumentException("Catalog cannot be null.");
+		}
+		this.catalog = catalog;
 		//sets default title to 'My Schedule'.
 		this.title = "My Schedule";
-		//try to read title
-		try {
-			catalog = CourseRecordIO.readCourseRecords(title);
+	}
+	/**
+	 * Registers a listener to be told about every later change to the schedule, title, or
+	 * catalog.
+	 * @param listener listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public void addScheduleListener(ScheduleListener listener) {
+		if(listener == null) {
+			throw new IllegalArgumentException("Listener cannot be null.");
+		}
+		listeners.add(listener);
+	}
+	/**
+	 * Stops telling a listener about changes.
+	 * @param listener listener to remove
+	 */
+	public void removeScheduleListener(ScheduleListener listener) {
+		listeners.remove(listener);
+	}
+	/**
+	 * Sends an event to every listener. Called holding scheduleLock so events arrive in the
+	 * order the changes were made.
+	 * @param type kind of change
+	 * @param index index of the changed row, or -1
+	 * @param activity activity inserted, removed, or put in place, or null
+	 * @param count number of rows the change affected
+	 */
+	private void fire(ScheduleEvent.Type type, int index, Activity activity, int count) {
+		if (listeners.isEmpty()) {
+			return;
 		}
-		//if file doesn't exist, throw exception.
-		catch(FileNotFoundException e) {
-			throw new IllegalArgumentException("Cannot find file.");
+		ScheduleEvent event = new ScheduleEvent(this, type, index, activity, count);
+		for (ScheduleListener listener : listeners) {
+			listener.scheduleChanged(event);
+		}
+	}
+	/**
+	 * Returns the catalog this scheduler uses.
+	 * @return the catalog
+	 */
+	public CourseCatalog getCatalog() {
+		return catalog;
+	}
+	/**
+	 * Switches to a new version of the catalog, keeping the schedule. Scheduled courses that
+	 * are not in the new catalog are removed from the schedule, and scheduled courses that
+	 * the new catalog holds a different object for are replaced by it in the same position,
+	 * even if the new times conflict with the rest of the schedule. This only looks at the
+	 * schedule, so switching every session of a server to a reloaded catalog is cheap.
+	 * @param catalog new catalog
+	 * @throws IllegalArgumentException if the catalog is null
+	 */
+	public void setCatalog(CourseCatalog catalog) {
+		if(catalog == null) {
+			throw new IllegalArgumentException("Catalog cannot be null.");
+		}
+		synchronized (scheduleLock) {
+			CourseCatalog old = this.catalog;
+			this.catalog = catalog;
+			for (int i = schedule.size() - 1; i >= 0; i--) {
+				if (schedule.get(i) instanceof Course) {
+					Course scheduled = (Course) schedule.get(i);
+					Course replacement = catalog.getCourse(scheduled.getName(), scheduled.getSection());
+					if (replacement != scheduled) {
+						conflicts.remove(scheduled);
+						if (replacement == null) {
+							schedule.remove(i);
+							fire(ScheduleEvent.Type.REMOVED, i, scheduled, 1);
+						} else {
+							schedule.set(i, replacement);
+							conflicts.add(replacement);
+							fire(ScheduleEvent.Type.UPDATED, i, replacement, 1);
+						}
+					}
+				}
+			}
+			if (catalog != old) {
+				fire(ScheduleEvent.Type.CATALOG_CHANGED, -1, null, 0);
+			}
+		}
+	}
+	/**
+	 * Reloads the catalog from the given file and switches to it with setCatalog().
+	 * Unchanged courses keep the same Course objects, so only scheduled courses that were
+	 * changed or removed are touched. The file is read and the new catalog is built without
+	 * holding the schedule lock; the lock is only taken to switch to it, and if the catalog
+	 * was switched by someone else meanwhile the merge is redone against the new one.
+	 * @param fileName file to reload the catalog from
+	 * @return the courses that were added, removed, and changed
+	 * @throws IllegalArgumentException if the file cannot be found
+	 */
+	public CatalogDelta reloadCatalog(String fileName) {
+		ArrayList<Course> courses = CourseCatalog.readCourses(fileName);
+		while (true) {
+			CourseCatalog base = catalog;
+			CatalogDelta delta = new CatalogDelta();
+			CourseCatalog merged = base.merge(courses, delta);
+			synchronized (scheduleLock) {
+				if (catalog == base) {
+					setCatalog(merged);
+					return delta;
+				}
+			}
 		}
 	}
 	/**
@@ -44,6 +167,7 @@ public class WolfScheduler {
 	 * @return 2d string array for catalog with rows of name, section, and title.
 	 */
 	public String[][] getCourseCatalog() {
+        CourseCatalog catalog = this.catalog;
         String [][] catalogArray = new String[catalog.size()][4];
         //if empty catalog, return empty 2d array
         if(catalog.size() == 0) {
@@ -55,42 +179,118 @@ public class WolfScheduler {
         }
         return catalogArray;
     }
+	/**
+	 * Returns the number of courses in the catalog.
+	 * @return number of catalog courses
+	 */
+	public int getCatalogSize() {
+		return catalog.size();
+	}
+	/**
+	 * Get one page of the catalog, set up with the same rows as getCourseCatalog(). Only
+	 * the requested rows are built, so a table can show a large catalog a page at a time.
+	 * @param start index of the first course
+	 * @param count most rows to return
+	 * @return 2d string array for the courses from start, shorter than count at the end of
+	 * the catalog, with rows of name, section, and title.
+	 * @throws IllegalArgumentException if start or count is negative
+	 */
+	public String[][] getCatalogRows(int start, int count) {
+		if (start < 0 || count < 0) {
+			throw new IllegalArgumentException("Invalid catalog rows.");
+		}
+		CourseCatalog catalog = this.catalog;
+		int end = (int) Math.min(catalog.size(), (long) start + count);
+		if (start >= end) {
+			return new String[0][0];
+		}
+		String[][] catalogArray = new String[end - start][];
+		for (int i = start; i < end; i++) {
+			catalogArray[i - start] = catalog.get(i).getShortDisplayArray();
+		}
+		return catalogArray;
+	}
+	/**
+	 * Get the catalog courses matching every given filter, set up with the same rows as
+	 * getCourseCatalog().
+	 * @param instructorId id of the instructor, or null for any
+	 * @param meetingDays exact meeting days such as "TH" or "A", or null for any
+	 * @param credits credit hours, or 0 for any
+	 * @return 2d string array for the matching courses with rows of name, section, and title.
+	 */
+	public String[][] getFilteredCatalog(String instructorId, String meetingDays, int credits) {
+		ArrayList<Course> matches = catalog.filter(instructorId, meetingDays, credits);
+		//if nothing matches, return empty 2d array
+		if(matches.size() == 0) {
+			return new String[0][0];
+		}
+		String[][] catalogArray = new String[matches.size()][4];
+		for (int i = 0; i < matches.size(); i++) {
+			catalogArray[i] = matches.get(i).getShortDisplayArray();
+		}
+		return catalogArray;
+	}
+	/**
+	 * Get the first catalog courses with a word in their name or title starting with the
+	 * prefix, ignoring case, set up with the same rows as getCourseCatalog(). Meant for
+	 * type-ahead, so it returns quickly even for a large catalog.
+	 * @param prefix start of a word in a course name or title
+	 * @param limit most courses to return
+	 * @return 2d string array for the matching courses with rows of name, section, and title.
+	 * @throws IllegalArgumentException if prefix is null or limit is negative
+	 */
+	public String[][] searchCatalog(String prefix, int limit) {
+		ArrayList<Course> matches = catalog.search(prefix, limit);
+		//if nothing matches, return empty 2d array
+		if(matches.size() == 0) {
+			return new String[0][0];
+		}
+		String[][] catalogArray = new String[matches.size()][4];
+		for (int i = 0; i < matches.size(); i++) {
+			catalogArray[i] = matches.get(i).getShortDisplayArray();
+		}
+		return catalogArray;
+	}
 	/**
 	 * Get scheduled courses for name, section, and title.
 	 * @return 2d string array for schedule with rows of name, section, and title.
 	 */
 	public String[][] getScheduledActivities() {
-		String[][] catArray = new String[schedule.size()][4];
-		//if empty schedule, return empty 2d array
-		if(schedule.size() == 0) {
-			return new String[0][0]; 
-		}
-		else {
-			for(int i = 0; i < schedule.size(); i++) {
-				Activity c = schedule.get(i);
-				catArray[i] = c.getShortDisplayArray();
+		synchronized (scheduleLock) {
+			String[][] catArray = new String[schedule.size()][4];
+			//if empty schedule, return empty 2d array
+			if(schedule.size() == 0) {
+				return new String[0][0]; 
+			}
+			else {
+				for(int i = 0; i < schedule.size(); i++) {
+					Activity c = schedule.get(i);
+					catArray[i] = c.getShortDisplayArray();
+				}
 			}
+			return catArray;
 		}
-		return catArray;
 	}
 	/**
 	 * Get full scheduled courses for name, section, title, credits, instructorId, and meeting string.
 	 * @return 2d string array with all the correct implemented rows.
 	 */
 	public String[][] getFullScheduledActivities() {
-		String[][] catArray = new String[schedule.size()][7];
-		//if empty schedule, return empty 2d array
-		if(schedule.size() == 0) {
-			return new String[0][0]; 
-		}
-		else {
-			//create schedule with correct rows
-			for(int i = 0; i < schedule.size(); i++) {
-				Activity c = schedule.get(i);
-				catArray[i] = c.getLongDisplayArray();
+		synchronized (scheduleLock) {
+			String[][] catArray = new String[schedule.size()][7];
+			//if empty schedule, return empty 2d array
+			if(schedule.size() == 0) {
+				return new String[0][0]; 
 			}
+			else {
+				//create schedule with correct rows
+				for(int i = 0; i < schedule.size(); i++) {
+					Activity c = schedule.get(i);
+					catArray[i] = c.getLongDisplayArray();
+				}
+			}
+			return catArray;
 		}
-		return catArray;
 	}
 	/**
 	 * Get course from the catalog
@@ -99,47 +299,45 @@ public class WolfScheduler {
 	 * @return Course object with correct name and section.
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
-		for(int i = 0; i < catalog.size(); i++) {
-			//if name and course match in catalog, return it
-			if(catalog.get(i).getName().equals(name) && 
-					catalog.get(i).getSection().equals(section)) {
-				return catalog.get(i);
-			}
-		}
-		//else name and course don't exist, return null
-		return null;
+		//name and section that don't exist in the catalog return null
+		return catalog.getCourse(name, section);
+	}
+	/**
+	 * Get every section of a course from the catalog, ordered by section number.
+	 * @param name name of the course
+	 * @return sections of the course, or an empty list if the course isn't in the catalog
+	 */
+	public ArrayList<Course> getSectionsFromCatalog(String name) {
+		return catalog.getSections(name);
 	}
 	/**
 	 * Add course to schedule with correct name and section.
 	 * @param name name of course
 	 * @param section section number of course
 	 * @return true if course successfully added, false if not.
+	 * @throws IllegalArgumentException if the course is already scheduled or conflicts with
+	 *                                  a scheduled activity
 	 */
 	public boolean addCourseToSchedule(String name, String section) {
-		
-		Course addedCourse = catalog.get(0);
-		//if course doesn't exist, return false
-		if(getCourseFromCatalog(name, section) == null) {
-			return false;
-		}
-		else {
-			for(int i = 0; i < catalog.size(); i++) {
-				//if course is in catalog with correct name and section, receive it
-				if(catalog.get(i).getName().equals(name) && 
-						catalog.get(i).getSection().equals(section)) {
-					addedCourse = catalog.get(i);
-					for(int j = 0; j < schedule.size(); j++) {
-						if(schedule.get(j) instanceof Course && schedule.get(j).isDuplicate(addedCourse)) {
-							//if name of course already in schedule, throw exception 
-							throw new IllegalArgumentException("You are already enrolled in " + name);							
-						}
-					}
+		//look the course up under the lock so a catalog swap can't slip in before it's added
+		synchronized (scheduleLock) {
+			Course addedCourse = getCourseFromCatalog(name, section);
+			//if course doesn't exist, return false
+			if(addedCourse == null) {
+				return false;
+			}
+			for(int j = 0; j < schedule.size(); j++) {
+				if(schedule.get(j) instanceof Course && schedule.get(j).isDuplicate(addedCourse)) {
+					//if name of course already in schedule, throw exception 
+					throw new IllegalArgumentException("You are already enrolled in " + name);							
 				}
 			}
+			checkConflict(addedCourse, "course");
+			//add course to schedule
+			schedule.add(addedCourse);
+			conflicts.add(addedCourse);
+			fire(ScheduleEvent.Type.INSERTED, schedule.size() - 1, addedCourse, 1);
 		}
-		
-		//add course to schedule
-		schedule.add(addedCourse);
 		return true;
 	}
 	/**
@@ -148,11 +346,16 @@ public class WolfScheduler {
 	 * @return true if activity successfully removed, false if activity does not exist in schedule.
 	 */
 	public boolean removeActivityFromSchedule(int idx) {
-		try {
-			schedule.remove(idx);
-		}
-		catch(IndexOutOfBoundsException e) {
-			return false;
+		synchronized (scheduleLock) {
+			Activity removed;
+			try {
+				removed = schedule.remove(idx);
+			}
+			catch(IndexOutOfBoundsException e) {
+				return false;
+			}
+			conflicts.remove(removed);
+			fire(ScheduleEvent.Type.REMOVED, idx, removed, 1);
 		}
 		return true;
 	}
@@ -169,9 +372,14 @@ public class WolfScheduler {
 	 * @param filename filename to export schedule
 	 */
 	public void exportSchedule(String filename) {
+		//copy the schedule so the file is written without holding the lock
+		ArrayList<Activity> snapshot;
+		synchronized (scheduleLock) {
+			snapshot = new ArrayList<Activity>(schedule);
+		}
 		//try if filename exists with schedule
 		try {
-			ActivityRecordIO.writeActivityRecords(filename, schedule);
+			ActivityRecordIO.writeActivityRecords(filename, snapshot);
 		}
 		//if does not exist, throw exception
 		catch(IOException e){
@@ -183,8 +391,12 @@ public class WolfScheduler {
 	 */
 	public void resetSchedule() {
 		//empty array list
-		schedule = new ArrayList<Activity>();
-		
+		synchronized (scheduleLock) {
+			int size = schedule.size();
+			schedule.clear();
+			conflicts.clear();
+			fire(ScheduleEvent.Type.CLEARED, -1, null, size);
+		}
 	}
 	/**
 	 * Sets the schedule title given it is not null.
@@ -196,7 +408,10 @@ public class WolfScheduler {
 			throw new IllegalArgumentException("Title cannot be null.");
 		}
 		//sets title to input title name.
-		this.title = title;
+		synchronized (scheduleLock) {
+			this.title = title;
+			fire(ScheduleEvent.Type.TITLE_CHANGED, -1, null, 0);
+		}
 	}
 	/**
 	 * Adds an event to the schedule with the title, days, time, and details.
@@ -205,19 +420,72 @@ public class WolfScheduler {
 	 * @param eventStartTime Start time of the event.
 	 * @param eventEndTime End time of the event.
 	 * @param eventDetails Event details of the event.
+	 * @throws IllegalArgumentException if the event is invalid, already created, or conflicts
+	 *                                  with a scheduled activity
 	 */
 	public void addEventToSchedule(String eventTitle, String eventMeetingDays, int eventStartTime, int eventEndTime, String eventDetails) {
 		Event event = new Event(eventTitle, eventMeetingDays, eventStartTime, eventEndTime, eventDetails);
-		for(int i = 0; i < schedule.size(); i++) {
-			Activity act = schedule.get(i);
-			if(act instanceof Event) {
-				Event newEvent = (Event)schedule.get(i);
-				if(newEvent.isDuplicate(event)) {
-					throw new IllegalArgumentException("You have already created an event called " + event.getTitle());
+		synchronized (scheduleLock) {
+			for(int i = 0; i < schedule.size(); i++) {
+				Activity act = schedule.get(i);
+				if(act instanceof Event) {
+					Event newEvent = (Event)schedule.get(i);
+					if(newEvent.isDuplicate(event)) {
+						throw new IllegalArgumentException("You have already created an event called " + event.getTitle());
+					}
 				}
 			}
+			checkConflict(event, "event");
+			schedule.add(event);
+			conflicts.add(event);
+			fire(ScheduleEvent.Type.INSERTED, schedule.size() - 1, event, 1);
+		}
+	}
+	/**
+	 * Returns the scheduled activities that conflict with the given activity.
+	 * @param activity activity to check against the schedule
+	 * @return conflicting activities, empty if there are none
+	 */
+	public ArrayList<Activity> getConflictingActivities(Activity activity) {
+		synchronized (scheduleLock) {
+			return conflicts.findConflicts(activity);
+		}
+	}
+	/**
+	 * Returns a generator for every conflict-free schedule that takes one section of each
+	 * course on the wishlist and fits around the rest of this schedule. Courses on the
+	 * wishlist that are already scheduled don't constrain the search, since a generated
+	 * schedule would replace them.
+	 * @param courseNames names of the courses to take
+	 * @return generator for the schedules
+	 * @throws IllegalArgumentException if the wishlist is empty, names a course twice, or
+	 * names a course that isn't in the catalog
+	 */
+	public ScheduleGenerator generateSchedules(ArrayList<String> courseNames) {
+		ArrayList<Activity> fixed = new ArrayList<Activity>();
+		synchronized (scheduleLock) {
+			for (int i = 0; i < schedule.size(); i++) {
+				Activity a = schedule.get(i);
+				if (!(a instanceof Course && courseNames != null && courseNames.contains(((Course) a).getName()))) {
+					fixed.add(a);
+				}
+			}
+		}
+		return new ScheduleGenerator(catalog, courseNames, fixed);
+	}
+	/**
+	 * Throws an exception naming a conflicting activity if the given activity conflicts with
+	 * the schedule. Must be called holding scheduleLock.
+	 * @param activity activity about to be added
+	 * @param kind "course" or "event", used in the message
+	 * @throws IllegalArgumentException if there is a conflict
+	 */
+	private void checkConflict(Activity activity, String kind) {
+		if (conflicts.hasConflict(activity)) {
+			Activity other = conflicts.findConflicts(activity).get(0);
+			throw new IllegalArgumentException("The " + kind + " cannot be added due to a conflict with "
+					+ other.getTitle() + ".");
 		}
-		schedule.add(event);
 	}
 	
 }
@@ -9,6 +9,12 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -19,18 +25,29 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.table.AbstractTableModel;
 
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordListener;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleEvent;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleListener;
 import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
 
 /**
@@ -73,12 +90,15 @@ public class WolfSchedulerGUI extends JFrame {
 		setTitle(APP_TITLE);
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
 		
-		//Construct the underlying model object
+		//Construct the underlying model object with an empty catalog, which is filled in
+		//as the chosen file is read in the background
+		String catalogFile = null;
 		try {			
-			scheduler = new WolfScheduler(getFileName(true));
+			catalogFile = getFileName(true);
 		} catch (IllegalStateException e) {
 			System.exit(1);
 		}
+		scheduler = new WolfScheduler(new CourseCatalog(new ArrayList<Course>()));
 		
 		//Construct panels
 		pnlScheduler = new SchedulerPanel();
@@ -100,6 +120,8 @@ public class WolfSchedulerGUI extends JFrame {
 		
 		//Set the GUI visible
 		setVisible(true);
+		
+		pnlScheduler.loadCatalog(catalogFile);
 	}
 	
 	/**
@@ -157,9 +179,13 @@ public class WolfSchedulerGUI extends JFrame {
 		/** JTable for displaying the schdule of Courses */
 		private JTable tableSchedule;
 		/** TableModel for catalog */
-		private CourseTableModel catalogTableModel;
+		private CatalogTableModel catalogTableModel;
+		/** Most catalog rows shown while searching */
+		private static final int SEARCH_LIMIT = 100;
+		/** Search box for filtering the catalog */
+		private JTextField txtSearch;
 		/** TableModel for schedule */
-		private CourseTableModel scheduleTableModel;
+		private ScheduleTableModel scheduleTableModel;
 		/** Student's Schedule title label */
 		private JLabel lblScheduleTitle;
 		/** Student's Schedule text field */
@@ -238,6 +264,16 @@ public class WolfSchedulerGUI extends JFrame {
 		private JButton btnAddEvent;
 		/** Panel for adding event */
 		private JPanel pnlAddEvent;
+		/** Panel showing the progress of a catalog load */
+		private JPanel pnlLoading;
+		/** Label for the lines read by a catalog load */
+		private JLabel lblLoading;
+		/** Progress bar shown while a catalog loads */
+		private JProgressBar progressLoading;
+		/** Button for stopping a catalog load */
+		private JButton btnCancelLoad;
+		/** Catalog load in progress, or null if none is */
+		private CatalogLoader loader;
 		
 		
 		/**
@@ -284,8 +320,30 @@ public class WolfSchedulerGUI extends JFrame {
 			pnlActions.setBorder(borderActions);
 			pnlActions.setToolTipText("Scheduler Actions");
 						
+			//Set up catalog search box
+			txtSearch = new JTextField(20);
+			txtSearch.setToolTipText("Type the start of a course name or title");
+			txtSearch.getDocument().addDocumentListener(new DocumentListener() {
+
+				@Override
+				public void insertUpdate(DocumentEvent e) {
+					updateCatalog();
+				}
+
+				@Override
+				public void removeUpdate(DocumentEvent e) {
+					updateCatalog();
+				}
+
+				@Override
+				public void changedUpdate(DocumentEvent e) {
+					updateCatalog();
+				}
+				
+			});
+			
 			//Set up Catalog table
-			catalogTableModel = new CourseTableModel(true);
+			catalogTableModel = new CatalogTableModel();
 			tableCatalog = new JTable(catalogTableModel) {
 				private static final long serialVersionUID = 1L;
 				
@@ -310,6 +368,10 @@ public class WolfSchedulerGUI extends JFrame {
 
 				@Override
 				public void valueChanged(ListSelectionEvent e) {
+					//the selection is cleared whenever the search changes the rows
+					if (tableCatalog.getSelectedRow() == -1) {
+						return;
+					}
 					String name = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 0).toString();
 					String section = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 1).toString();
 					Course c = scheduler.getCourseFromCatalog(name, section);
@@ -320,12 +382,32 @@ public class WolfSchedulerGUI extends JFrame {
 			
 			JScrollPane scrollCatalog = new JScrollPane(tableCatalog);
 			
+			JPanel pnlSearch = new JPanel(new BorderLayout());
+			pnlSearch.add(new JLabel("Search: "), BorderLayout.WEST);
+			pnlSearch.add(txtSearch, BorderLayout.CENTER);
+			//Set up the catalog load progress, hidden until a load starts
+			lblLoading = new JLabel("");
+			progressLoading = new JProgressBar();
+			progressLoading.setIndeterminate(true);
+			btnCancelLoad = new JButton("Cancel");
+			btnCancelLoad.addActionListener(this);
+			pnlLoading = new JPanel(new BorderLayout());
+			pnlLoading.add(lblLoading, BorderLayout.WEST);
+			pnlLoading.add(progressLoading, BorderLayout.CENTER);
+			pnlLoading.add(btnCancelLoad, BorderLayout.EAST);
+			pnlLoading.setVisible(false);
+			
+			JPanel pnlCatalog = new JPanel(new BorderLayout());
+			pnlCatalog.add(pnlSearch, BorderLayout.NORTH);
+			pnlCatalog.add(scrollCatalog, BorderLayout.CENTER);
+			pnlCatalog.add(pnlLoading, BorderLayout.SOUTH);
+			
 			TitledBorder borderCatalog = BorderFactory.createTitledBorder(lowerEtched, "Course Catalog");
-			scrollCatalog.setBorder(borderCatalog);
-			scrollCatalog.setToolTipText("Course Catalog");
+			pnlCatalog.setBorder(borderCatalog);
+			pnlCatalog.setToolTipText("Course Catalog");
 			
 			//Set up Schedule table
-			scheduleTableModel = new CourseTableModel(false);
+			scheduleTableModel = new ScheduleTableModel(false);
 			tableSchedule = new JTable(scheduleTableModel);
 			tableSchedule.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 			tableSchedule.setPreferredScrollableViewportSize(new Dimension(500, 500));
@@ -337,7 +419,15 @@ public class WolfSchedulerGUI extends JFrame {
 			scrollSchedule.setBorder(borderSchedule);
 			scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
 			
-			updateTables();
+			//the schedule table updates itself; only the title and catalog are handled here
+			scheduler.addScheduleListener(e -> onEventThread(() -> {
+				if (e.getType() == ScheduleEvent.Type.TITLE_CHANGED) {
+					borderSchedule.setTitle(scheduler.getScheduleTitle());
+					repaint();
+				} else if (e.getType() == ScheduleEvent.Type.CATALOG_CHANGED) {
+					catalogTableModel.updateData();
+				}
+			}));
 			
 			//Set up the course details panel
 			pnlCourseDetails = new JPanel();
@@ -500,7 +590,7 @@ public class WolfSchedulerGUI extends JFrame {
 			pnlAddEvent.setBorder(borderAddEvent);
 			pnlAddEvent.setToolTipText("AddEvent");
 			
-			add(scrollCatalog);
+			add(pnlCatalog);
 			add(pnlActions);
 			add(scrollSchedule);
 			add(pnlCourseDetails);
@@ -525,7 +615,6 @@ public class WolfSchedulerGUI extends JFrame {
 						JOptionPane.showMessageDialog(WolfSchedulerGUI.this, iae.getMessage());
 					}
 				}
-				updateTables();
 			} else if (e.getSource() == btnRemoveCourse) {
 				int row = tableSchedule.getSelectedRow();
 				if (row == -1 || row == tableSchedule.getRowCount()) {
@@ -533,20 +622,20 @@ public class WolfSchedulerGUI extends JFrame {
 				} else {
 					scheduler.removeActivityFromSchedule(row);
 				}
-				updateTables();
 			} else if (e.getSource() == btnReset) {
 				scheduler.resetSchedule();
-				updateTables();
+			} else if (e.getSource() == btnCancelLoad) {
+				if (loader != null) {
+					loader.cancel(false);
+				}
 			} else if (e.getSource() == btnDisplay) {
 				cardLayout.show(panel, SCHEDULE_PANEL);
-				pnlSchedule.updateFinalizedTable();
 			} else if (e.getSource() == btnSetScheduleTitle) {
 				try {
 					scheduler.setScheduleTitle(txtScheduleTitle.getText()); 
 				} catch (IllegalArgumentException iae) {
 					JOptionPane.showMessageDialog(WolfSchedulerGUI.this, "Invalid title.");
 				}
-				borderSchedule.setTitle(scheduler.getScheduleTitle());
 			} else if (e.getSource() == btnAddEvent) {
 				try {
 					String eventMeetingDays = "";
@@ -623,7 +712,6 @@ public class WolfSchedulerGUI extends JFrame {
 					scheduler.addEventToSchedule(txtEventTitle.getText(), eventMeetingDays, eventStartTime, eventEndTime, txtDetails.getText());
 					
 					resetEvent();
-					updateTables();
 				} catch (IllegalArgumentException iae) {
 					String message = iae.getMessage();
 					if (message == null || "".equals(message)) {
@@ -659,11 +747,28 @@ public class WolfSchedulerGUI extends JFrame {
 		}
 		
 		/**
-		 * Updates the catalog and schedule tables.
+		 * Starts loading a catalog file on a background thread. The courses read so far are
+		 * shown as the load goes, and the load can be cancelled.
+		 * @param fileName file to read the catalog from
 		 */
-		private void updateTables() {
+		private void loadCatalog(String fileName) {
+			if (loader != null) {
+				loader.cancel(false);
+			}
+			lblLoading.setText("Loading catalog...");
+			btnCancelLoad.setEnabled(true);
+			progressLoading.setVisible(true);
+			pnlLoading.setVisible(true);
+			loader = new CatalogLoader(fileName);
+			loader.execute();
+		}
+		
+		/**
+		 * Shows the catalog courses matching the search box, or the whole catalog if the box
+		 * is empty.
+		 */
+		private void updateCatalog() {
 			catalogTableModel.updateData();
-			scheduleTableModel.updateData();
 		}
 		
 		/**
@@ -683,28 +788,150 @@ public class WolfSchedulerGUI extends JFrame {
 		}
 		
 		/**
-		 * {@link CourseTableModel} is the object underlying the {@link JTable} object that displays
-		 * the list of {@link Course}s to the user.
-		 * @author Sarah Heckman
+		 * {@link CatalogLoader} reads a catalog file on a background thread. Each batch of lines
+		 * it reads is reported to the event thread as lines read and rejected, and the courses
+		 * read so far are handed to the scheduler as a new catalog, which the catalog table
+		 * then shows. A catalog is only built each time the number of courses has doubled, so
+		 * each partial catalog is at most half the size of the next and all of them together
+		 * take at most about twice as long to build as the final one. None of them build a
+		 * search index unless they are searched while shown. The loader keeps no courses of
+		 * its own; each partial catalog is built from the reader's list. A cancelled load
+		 * stops at the next batch and keeps the courses already shown.
+		 * @author David Mond
 		 */
-		private class CourseTableModel extends AbstractTableModel {
+		private class CatalogLoader extends SwingWorker<CourseCatalog, int[]> implements CourseRecordListener {
+			/** Lines read between progress reports */
+			private static final int BATCH_LINES = 1000;
+			/** File being read */
+			private final String fileName;
+			/** Courses in the last partial catalog built */
+			private int builtSize;
+			/** Latest partial catalog, built on the background thread and shown on the event thread */
+			private volatile CourseCatalog partial;
+			
+			/**
+			 * Constructs a loader for a catalog file.
+			 * @param fileName file to read the catalog from
+			 */
+			public CatalogLoader(String fileName) {
+				this.fileName = fileName;
+			}
+			
+			/**
+			 * Reads the file and builds the full catalog.
+			 * @return the loaded catalog
+			 * @throws FileNotFoundException if the file cannot be read
+			 */
+			@Override
+			protected CourseCatalog doInBackground() throws FileNotFoundException {
+				return new CourseCatalog(CourseRecordIO.readCourseRecords(fileName, BATCH_LINES, this));
+			}
+			
+			/**
+			 * Builds a new partial catalog if the courses have doubled since the last one, and
+			 * publishes the line counts.
+			 * @param read courses read so far
+			 * @param linesRead lines read so far
+			 * @param linesRejected lines rejected so far
+			 * @return false once the load has been cancelled
+			 */
+			@Override
+			public boolean batchRead(List<Course> read, int linesRead, int linesRejected) {
+				if (read.size() > 0 && read.size() >= builtSize * 2) {
+					builtSize = read.size();
+					partial = new CourseCatalog(read);
+				}
+				publish(new int[] {linesRead, linesRejected});
+				return !isCancelled();
+			}
+			
+			/**
+			 * Shows the latest line counts and partial catalog.
+			 * @param counts lines read and rejected for each batch since the last call
+			 */
+			@Override
+			protected void process(List<int[]> counts) {
+				if (loader != this) {
+					return;
+				}
+				int[] latest = counts.get(counts.size() - 1);
+				lblLoading.setText("Read " + latest[0] + " lines, " + latest[1] + " rejected ");
+				CourseCatalog shown = partial;
+				if (shown != null && shown != scheduler.getCatalog()) {
+					scheduler.setCatalog(shown);
+				}
+			}
+			
+			/**
+			 * Shows the full catalog, or why the load ended early.
+			 */
+			@Override
+			protected void done() {
+				if (loader != this) {
+					return;
+				}
+				loader = null;
+				btnCancelLoad.setEnabled(false);
+				progressLoading.setVisible(false);
+				if (isCancelled()) {
+					lblLoading.setText("Loading cancelled, " + scheduler.getCatalogSize() + " courses loaded");
+					return;
+				}
+				try {
+					CourseCatalog full = get();
+					scheduler.setCatalog(full);
+					pnlLoading.setVisible(false);
+				} catch (InterruptedException e) {
+					lblLoading.setText("Loading interrupted, " + scheduler.getCatalogSize() + " courses loaded");
+				} catch (ExecutionException e) {
+					lblLoading.setText("Loading failed, " + scheduler.getCatalogSize() + " courses loaded");
+					JOptionPane.showMessageDialog(WolfSchedulerGUI.this, e.getCause() instanceof FileNotFoundException
+							? "Cannot find file." : "Unable to read the catalog.");
+				}
+			}
+		}
+		
+		/**
+		 * {@link CatalogTableModel} is the object underlying the {@link JTable} object that
+		 * displays the catalog. Rows are fetched from the {@link WolfScheduler} a page at a
+		 * time, only when the table asks for them, which it only does for the rows it shows.
+		 * The most recently used pages are kept, so scrolling back is quick and memory stays
+		 * bounded however big the catalog is. Changes to the schedule don't touch the model;
+		 * the cached pages are only dropped when the scheduler has a new catalog.
+		 * @author David Mond
+		 */
+		private class CatalogTableModel extends AbstractTableModel {
 			
 			/** ID number used for object serialization. */
 			private static final long serialVersionUID = 1L;
+			/** Rows fetched from the scheduler at once */
+			private static final int PAGE_SIZE = 64;
+			/** Most pages kept */
+			private static final int MAX_CACHED_PAGES = 32;
 			/** Column names for the table */
 			private String [] columnNames = {"Name", "Section", "Title", "Meeting Information"};
-			/** Data stored in the table */
-			private Object [][] data;
-			/** Boolean flag if the model applies to the catalog or schedule */
-			private boolean catalog;
+			/** Catalog the rows are shown for, to tell when the scheduler has a new one */
+			private CourseCatalog shownCatalog;
+			/** Number of rows in the catalog */
+			private int rowCount;
+			/** Rows matching the search box, or null when the whole catalog is shown */
+			private String [][] searchResults;
+			/** Search the results are for */
+			private String shownSearch = "";
+			/** Fetched pages keyed on page number, least recently used first */
+			private final Map<Integer, String[][]> pages = new LinkedHashMap<Integer, String[][]>(MAX_CACHED_PAGES * 2, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Integer, String[][]> eldest) {
+					return size() > MAX_CACHED_PAGES;
+				}
+			};
 			
 			/**
-			 * Constructs the {@link CourseTableModel} by requesting the latest information
-			 * from the {@link RequirementTrackerModel}.
-			 * @param catalog flag to determine if updating the catalog (true) or schedule (false)
+			 * Constructs the {@link CatalogTableModel} for the scheduler's current catalog.
 			 */
-			public CourseTableModel(boolean catalog) {
-				this.catalog = catalog;
+			public CatalogTableModel() {
 				updateData();
 			}
 
@@ -721,9 +948,7 @@ public class WolfSchedulerGUI extends JFrame {
 			 * @return the number of rows in the table.
 			 */
 			public int getRowCount() {
-				if (data == null) 
-					return 0;
-				return data.length;
+				return searchResults == null ? rowCount : searchResults.length;
 			}
 			
 			/**
@@ -736,40 +961,54 @@ public class WolfSchedulerGUI extends JFrame {
 			}
 
 			/**
-			 * Returns the data at the given {row, col} index.
+			 * Returns the data at the given {row, col} index, fetching its page if it isn't
+			 * cached.
 			 * @param row row index
 			 * @param col column index
 			 * @return the data at the given location.
 			 */
 			public Object getValueAt(int row, int col) {
-				if (data == null)
-					return null;
-				try {
-					return data[row][col];
-				} catch (ArrayIndexOutOfBoundsException e) {
+				if (row < 0 || col < 0 || col >= columnNames.length) {
 					return null;
 				}
+				if (searchResults != null) {
+					return row < searchResults.length ? searchResults[row][col] : null;
+				}
+				int page = row / PAGE_SIZE;
+				String[][] rows = pages.get(page);
+				if (rows == null) {
+					rows = scheduler.getCatalogRows(page * PAGE_SIZE, PAGE_SIZE);
+					pages.put(page, rows);
+				}
+				int offset = row % PAGE_SIZE;
+				return offset < rows.length ? rows[offset][col] : null;
 			}
 			
 			/**
-			 * Sets the given value to the given {row, col} location.
-			 * @param value Object to modify in the data.
-			 * @param row location to modify the data.
-			 * @param col location to modify the data.
-			 */
-			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
-				fireTableCellUpdated(row, col);
-			}
-			
-			/**
-			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
+			 * Checks the search box and the scheduler's catalog, and tells the table to redraw
+			 * only if what it shows has changed.
 			 */
 			private void updateData() {
-				if (catalog) {
-					data = scheduler.getCourseCatalog();
-				} else {
-					data = scheduler.getScheduledActivities();
+				String search = txtSearch == null ? "" : txtSearch.getText().trim();
+				if (!search.isEmpty()) {
+					if (!search.equals(shownSearch) || shownCatalog != scheduler.getCatalog()) {
+						shownSearch = search;
+						shownCatalog = scheduler.getCatalog();
+						searchResults = scheduler.searchCatalog(search, SEARCH_LIMIT);
+						fireTableDataChanged();
+					}
+					return;
+				}
+				CourseCatalog current = scheduler.getCatalog();
+				if (searchResults != null || current != shownCatalog) {
+					shownSearch = "";
+					searchResults = null;
+					if (current != shownCatalog) {
+						shownCatalog = current;
+						pages.clear();
+						rowCount = scheduler.getCatalogSize();
+					}
+					fireTableDataChanged();
 				}
 			}
 		}
@@ -791,7 +1030,7 @@ public class WolfSchedulerGUI extends JFrame {
 		/** JTable for displaying the schedule of Courses */
 		private JTable tableSchedule;
 		/** TableModel for schedule */
-		private FullCourseTableModel scheduleTableModel;
+		private ScheduleTableModel scheduleTableModel;
 		/** Scroll pane for setting table title */
 		private JScrollPane scrollSchedule;
 		/** Border for schedule */
@@ -819,7 +1058,7 @@ public class WolfSchedulerGUI extends JFrame {
 			pnlActions.setToolTipText("Schedule Actions");
 			
 			//Set up Schedule table
-			scheduleTableModel = new FullCourseTableModel();
+			scheduleTableModel = new ScheduleTableModel(true);
 			tableSchedule = new JTable(scheduleTableModel);
 			tableSchedule.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 			tableSchedule.setPreferredScrollableViewportSize(new Dimension(500, 500));
@@ -837,7 +1076,13 @@ public class WolfSchedulerGUI extends JFrame {
 			scrollSchedule.setBorder(borderSchedule);
 			scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
 			
-			updateFinalizedTable();
+			scheduler.addScheduleListener(e -> onEventThread(() -> {
+				if (e.getType() == ScheduleEvent.Type.TITLE_CHANGED) {
+					borderSchedule.setTitle(scheduler.getScheduleTitle());
+					scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
+					repaint();
+				}
+			}));
 			
 			add(pnlActions);
 			add(scrollSchedule);
@@ -864,99 +1109,143 @@ public class WolfSchedulerGUI extends JFrame {
 				}
 			}
 		}
+	}
+	
+	/**
+	 * Runs an update on the Swing event thread, right away if the caller is already on it.
+	 * Schedule events arrive on whichever thread changed the schedule.
+	 * @param update work that touches Swing components
+	 */
+	private static void onEventThread(Runnable update) {
+		if (SwingUtilities.isEventDispatchThread()) {
+			update.run();
+		} else {
+			SwingUtilities.invokeLater(update);
+		}
+	}
+	
+	/**
+	 * {@link ScheduleTableModel} is the object underlying the {@link JTable} objects that
+	 * display the schedule. It copies the schedule's rows once, then listens to the
+	 * {@link WolfScheduler} and applies each insert, removal, or update to its own rows, so
+	 * the table only redraws the rows that changed instead of the whole schedule.
+	 * @author David Mond
+	 */
+	private class ScheduleTableModel extends AbstractTableModel implements ScheduleListener {
+		
+		/** ID number used for object serialization. */
+		private static final long serialVersionUID = 1L;
+		/** Column names for the table */
+		private String [] columnNames;
+		/** True if the rows hold the long display arrays */
+		private boolean full;
+		/** Data stored in the table */
+		private ArrayList<Object[]> rows = new ArrayList<Object[]>();
 		
 		/**
-		 * Updates the finalized schedule table
+		 * Constructs the {@link ScheduleTableModel} from the scheduler's current schedule
+		 * and registers it for changes.
+		 * @param full true for every field of each activity, false for the short display
 		 */
-		public void updateFinalizedTable() {
-			scheduleTableModel.updateData();
-			borderSchedule.setTitle(scheduler.getScheduleTitle());
-			scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
+		public ScheduleTableModel(boolean full) {
+			this.full = full;
+			if (full) {
+				columnNames = new String[] {"Name", "Section", "Title", "Credits", "Instructor", "Meeting Information", "Details"};
+			} else {
+				columnNames = new String[] {"Name", "Section", "Title", "Meeting Information"};
+			}
+			String[][] data = full ? scheduler.getFullScheduledActivities() : scheduler.getScheduledActivities();
+			for (int i = 0; i < data.length; i++) {
+				rows.add(data[i]);
+			}
+			scheduler.addScheduleListener(this);
 		}
-		
+
 		/**
-		 * {@link FullCourseTableModel} is the object underlying the {@link JTable} object that displays
-		 * the list of {@link Course}s, and all their data, to the user.
-		 * @author Sarah Heckman
+		 * Returns the number of columns in the table.
+		 * @return the number of columns in the table.
 		 */
-		private class FullCourseTableModel extends AbstractTableModel {
-			
-			/** ID number used for object serialization. */
-			private static final long serialVersionUID = 1L;
-			/** Column names for the table */
-			private String [] columnNames = {"Name", "Section", "Title", "Credits", "Instructor", "Meeting Information", "Details"};
-			/** Data stored in the table */
-			private Object [][] data;
-			
-			/**
-			 * Constructs the {@link CourseTableModel} by requesting the latest information
-			 * from the {@link RequirementTrackerModel}.
-			 */
-			public FullCourseTableModel() {
-				updateData();
-			}
+		public int getColumnCount() {
+			return columnNames.length;
+		}
 
-			/**
-			 * Returns the number of columns in the table.
-			 * @return the number of columns in the table.
-			 */
-			public int getColumnCount() {
-				return columnNames.length;
-			}
+		/**
+		 * Returns the number of rows in the table.
+		 * @return the number of rows in the table.
+		 */
+		public int getRowCount() {
+			return rows.size();
+		}
+		
+		/**
+		 * Returns the column name at the given index.
+		 * @param col column index
+		 * @return the column name at the given column.
+		 */
+		public String getColumnName(int col) {
+			return columnNames[col];
+		}
 
-			/**
-			 * Returns the number of rows in the table.
-			 * @return the number of rows in the table.
-			 */
-			public int getRowCount() {
-				if (data == null) 
-					return 0;
-				return data.length;
-			}
-			
-			/**
-			 * Returns the column name at the given index.
-			 * @param col column index
-			 * @return the column name at the given column.
-			 */
-			public String getColumnName(int col) {
-				return columnNames[col];
+		/**
+		 * Returns the data at the given {row, col} index.
+		 * @param row row index
+		 * @param col column index
+		 * @return the data at the given location.
+		 */
+		public Object getValueAt(int row, int col) {
+			if (row < 0 || row >= rows.size() || col < 0 || col >= columnNames.length) {
+				return null;
 			}
-
-			/**
-			 * Returns the data at the given {row, col} index.
-			 * @param row row index
-			 * @param col column index
-			 * @return the data at the given location.
-			 */
-			public Object getValueAt(int row, int col) {
-				if (data == null)
-					return null;
-				try {
-					return data[row][col];
-				} catch (ArrayIndexOutOfBoundsException e) {
-					return null;
+			return rows.get(row)[col];
+		}
+		
+		/**
+		 * Applies a change to the schedule to the rows and tells the table which rows changed.
+		 * @param event the change
+		 */
+		@Override
+		public void scheduleChanged(ScheduleEvent event) {
+			onEventThread(() -> apply(event));
+		}
+		
+		/**
+		 * Applies a change on the event thread.
+		 * @param event the change
+		 */
+		private void apply(ScheduleEvent event) {
+			int index = event.getIndex();
+			switch (event.getType()) {
+			case INSERTED:
+				rows.add(index, displayRow(event.getActivity()));
+				fireTableRowsInserted(index, index);
+				break;
+			case REMOVED:
+				rows.remove(index);
+				fireTableRowsDeleted(index, index);
+				break;
+			case UPDATED:
+				rows.set(index, displayRow(event.getActivity()));
+				fireTableRowsUpdated(index, index);
+				break;
+			case CLEARED:
+				int n = rows.size();
+				if (n > 0) {
+					rows.clear();
+					fireTableRowsDeleted(0, n - 1);
 				}
-			}
-			
-			/**
-			 * Sets the given value to the given {row, col} location.
-			 * @param value Object to modify in the data.
-			 * @param row location to modify the data.
-			 * @param col location to modify the data.
-			 */
-			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
-				fireTableCellUpdated(row, col);
-			}
-			
-			/**
-			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
-			 */
-			private void updateData() {
-				data = scheduler.getFullScheduledActivities();
+				break;
+			default:
+				break;
 			}
 		}
 		
+		/**
+		 * Returns the row shown for an activity.
+		 * @param activity scheduled activity
+		 * @return its long or short display array
+		 */
+		private Object[] displayRow(Activity activity) {
+			return full ? activity.getLongDisplayArray() : activity.getShortDisplayArray();
+		}
 	}
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package edu.ncsu.csc216.wolf_scheduler.course;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -8,6 +9,10 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
 /**
  * Tests the Course class.
  * 
@@ -281,6 +286,72 @@ public class CourseTest {
 		assertEquals("Invalid instructor id.", exception.getMessage(), "Incorrect exception thrown with invalid input - " + invalid);
 	}
 
+	/**
+	 * Tests the name, section, and instructor id checks shared by the constructors.
+	 */
+	@Test
+	public void testValidators() {
+		assertTrue(Course.isValidName("E 116"));
+		assertTrue(Course.isValidName("HESF 116"));
+		assertTrue(Course.isValidName(NAME));
+		assertFalse(Course.isValidName("CSC  216"));
+		assertFalse(Course.isValidName("CSC 2 6"));
+		assertFalse(Course.isValidName("CSC 21"));
+		assertFalse(Course.isValidName("CSC216 "));
+		assertFalse(Course.isValidName(null));
+		
+		assertTrue(Course.isValidSection("601"));
+		assertFalse(Course.isValidSection("60"));
+		assertFalse(Course.isValidSection("6a1"));
+		assertFalse(Course.isValidSection(null));
+		
+		assertTrue(Course.isValidInstructorId(INSTRUCTOR_ID));
+		assertFalse(Course.isValidInstructorId(""));
+		assertFalse(Course.isValidInstructorId(null));
+	}
+
+	/**
+	 * Tests that checking names, sections, and instructor ids allocates nothing, since every
+	 * line of every catalog load is checked. Skipped on JVMs that can't count the bytes a
+	 * thread allocates.
+	 */
+	@Test
+	public void testValidatorsDoNotAllocate() {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+		String[] names = {NAME, "HESF 116", "CSC216", "CSC 21!", "C!C 216"};
+		String[] sections = {SECTION, "6a1", "60"};
+		final int calls = 100000;
+		long tid = Thread.currentThread().getId();
+		int valid = 0;
+		long fewest = Long.MAX_VALUE;
+		for (int round = 0; round < 4; round++) {
+			//the first round warms up; the JIT can charge a few bytes to this thread in any
+			//round, so the best of the others is checked
+			valid = 0;
+			long before = threads.getThreadAllocatedBytes(tid);
+			for (int i = 0; i < calls; i++) {
+				if (Course.isValidName(names[i % names.length])) {
+					valid++;
+				}
+				if (Course.isValidSection(sections[i % sections.length])) {
+					valid++;
+				}
+				if (Course.isValidInstructorId(INSTRUCTOR_ID)) {
+					valid++;
+				}
+			}
+			long allocated = threads.getThreadAllocatedBytes(tid) - before;
+			if (round > 0) {
+				fewest = Math.min(fewest, allocated);
+			}
+		}
+		//allow for the bytes the measuring itself may take, far less than one per call
+		assertTrue(fewest < 1024, "validators allocated " + fewest + " bytes");
+		assertEquals(calls * 2 / 5 + calls / 3 + 1 + calls, valid);
+	}
+
 
 	/**
 	 * Tests setMeetingDaysAndTime().
@@ -298,5 +298,51 @@ public class EventTest {
 		assertEquals(e1.hashCode(), e8.hashCode()); //field not considered in hashCode
 		
 	}
+	
+	/**
+	 * Tests Activity.getMeetingDayMask() and Activity.sharesMeetingDay().
+	 */
+	@Test
+	public void testMeetingDayMask() {
+		Activity e1 = new Event(EVENT_TITLE, "UMTWHFS", EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		assertEquals(Activity.ALL_DAYS, e1.getMeetingDayMask());
+		Activity e2 = new Event(EVENT_TITLE, "HT", EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		assertEquals(Activity.TUESDAY | Activity.THURSDAY, e2.getMeetingDayMask());
+		assertEquals("HT", e2.getMeetingDays());
+		Activity e3 = new Event(EVENT_TITLE, "SU", EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		Activity c1 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MWF", 1330, 1445);
+		Activity c2 = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "sesmith5", "A");
+		assertEquals(0, c2.getMeetingDayMask());
+		
+		assertTrue(e1.sharesMeetingDay(e2));
+		assertTrue(e1.sharesMeetingDay(e3));
+		assertTrue(e1.sharesMeetingDay(c1));
+		assertFalse(e2.sharesMeetingDay(e3));
+		assertFalse(e2.sharesMeetingDay(c1));
+		assertFalse(c1.sharesMeetingDay(e2));
+		assertFalse(e1.sharesMeetingDay(c2));
+		assertFalse(c2.sharesMeetingDay(c2));
+		
+		//the mask is updated when the meeting days change
+		e2.setMeetingDaysAndTime("F", EVENT_START_TIME, EVENT_END_TIME);
+		assertTrue(e2.sharesMeetingDay(c1));
+		assertEquals(Activity.FRIDAY | Activity.MONDAY, Activity.toMeetingDayMask("FM"));
+	}
+
+	/**
+	 * Tests parseMeetingDayMask() on the days a user might type into a filter.
+	 */
+	@Test
+	public void testParseMeetingDayMask() {
+		assertEquals(Activity.FRIDAY | Activity.MONDAY, Activity.parseMeetingDayMask("FM"));
+		assertEquals(Activity.SUNDAY | Activity.SATURDAY, Activity.parseMeetingDayMask("SU"));
+		assertEquals(0, Activity.parseMeetingDayMask("A"));
+		assertEquals(-1, Activity.parseMeetingDayMask("MX"));
+		assertEquals(-1, Activity.parseMeetingDayMask("MM"));
+		assertEquals(-1, Activity.parseMeetingDayMask("AM"));
+		assertEquals(-1, Activity.parseMeetingDayMask("m"));
+		assertEquals(-1, Activity.parseMeetingDayMask(""));
+		assertEquals(-1, Activity.parseMeetingDayMask(null));
+	}
 
-}
\ No newline at end of file
+}
@@ -1,13 +1,23 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
@@ -59,6 +69,72 @@ public class ActivityRecordIOTest {
 		checkFiles("test-files/expected_activity_records.txt", "test-files/actual_activity_records.txt");
 	}
 
+	/**
+	 * Tests that writeActivityRecords() replaces an existing file and leaves no temporary
+	 * files behind, and that failures are reported and leave the old file alone.
+	 * @throws IOException if the test directory cannot be used
+	 */
+	@Test
+	public void testWriteActivityRecordsReplacesFile() throws IOException {
+		Path dir = Files.createTempDirectory("activity_records");
+		Path file = dir.resolve("schedule.txt");
+		Files.write(file, Arrays.asList("old line 1", "old line 2", "old line 3", "old line 4"));
+		
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		ActivityRecordIO.writeActivityRecords(file.toString(), activities);
+		assertEquals(Arrays.asList(activities.get(0).toString()), Files.readAllLines(file));
+		
+		//A large schedule is written completely
+		for (int i = 0; i < 20000; i++) {
+			activities.add(new Event("Event " + i, "MWF", 800, 900, "Details " + i));
+		}
+		ActivityRecordIO.writeActivityRecords(file.toString(), activities);
+		List<String> lines = Files.readAllLines(file);
+		assertEquals(activities.size(), lines.size());
+		assertEquals(activities.get(20000).toString(), lines.get(20000));
+		
+		//A directory can't be replaced, and a missing directory can't be written to
+		assertThrows(IOException.class, () -> ActivityRecordIO.writeActivityRecords(dir.toString(), activities));
+		assertThrows(IOException.class,
+				() -> ActivityRecordIO.writeActivityRecords(dir.resolve("missing").resolve("schedule.txt").toString(), activities));
+		assertEquals(activities.size(), Files.readAllLines(file).size());
+		
+		try (Stream<Path> files = Files.list(dir)) {
+			assertEquals(1, files.count());
+		}
+		Files.delete(file);
+		Files.delete(dir);
+	}
+
+	/**
+	 * Tests that a new file gets the same permissions as any other new file, and that a
+	 * replaced file keeps its own.
+	 * @throws IOException if the test directory cannot be used
+	 */
+	@Test
+	public void testWriteActivityRecordsPermissions() throws IOException {
+		Path dir = Files.createTempDirectory("activity_records");
+		assumeTrue(Files.getFileStore(dir).supportsFileAttributeView(PosixFileAttributeView.class));
+		Path plain = Files.createFile(dir.resolve("plain.txt"));
+		Path file = dir.resolve("schedule.txt");
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		
+		ActivityRecordIO.writeActivityRecords(file.toString(), activities);
+		assertEquals(Files.getPosixFilePermissions(plain), Files.getPosixFilePermissions(file));
+		
+		Set<PosixFilePermission> groupRead = PosixFilePermissions.fromString("rw-r-----");
+		Files.setPosixFilePermissions(file, groupRead);
+		ActivityRecordIO.writeActivityRecords(file.toString(), activities);
+		assertEquals(groupRead, Files.getPosixFilePermissions(file));
+		assertEquals(Arrays.asList(activities.get(0).toString()), Files.readAllLines(file));
+		
+		Files.delete(plain);
+		Files.delete(file);
+		Files.delete(dir);
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
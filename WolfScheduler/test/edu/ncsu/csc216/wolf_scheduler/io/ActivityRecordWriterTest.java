@@ -0,0 +1,114 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests for ActivityRecordWriter.
+ * @author David Mond
+ */
+public class ActivityRecordWriterTest {
+
+	/**
+	 * Tests that streaming several schedules into one stream gives the same lines
+	 * writeActivityRecords() writes for each schedule.
+	 * @throws IOException if the expected file cannot be read
+	 */
+	@Test
+	public void testWriteSchedules() throws IOException {
+		ArrayList<Activity> first = new ArrayList<Activity>();
+		first.add(new Course("CSC 116", "Intro to Programming - Java", "003", 3, "spbalik", "MW", 1250, 1440));
+		first.add(new Event("Exercise", "UMTHFS", 800, 900, "Cardio with rest day on Wednesday."));
+		ArrayList<Activity> second = new ArrayList<Activity>();
+		second.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445));
+		second.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ActivityRecordWriter writer = new ActivityRecordWriter(bytes)) {
+			writer.writeAll(first);
+			writer.writeAll(second);
+			assertEquals(4, writer.getRecordCount());
+		}
+		List<String> expected = Files.readAllLines(Paths.get("test-files/expected_activity_records.txt"));
+		String text = new String(bytes.toByteArray(), Charset.defaultCharset());
+		assertEquals(String.join(System.lineSeparator(), expected) + System.lineSeparator(), text);
+	}
+
+	/**
+	 * Tests that records reach the underlying writer in batches.
+	 * @throws IOException if a record cannot be written
+	 */
+	@Test
+	public void testBatchedFlush() throws IOException {
+		CountingWriter sink = new CountingWriter();
+		Event event = new Event("Exercise", "MWF", 800, 900, "Gym");
+		ActivityRecordWriter writer = new ActivityRecordWriter(sink, 3);
+		writer.write(event);
+		writer.write(event);
+		assertEquals(0, sink.flushes);
+		assertEquals(0, sink.text.length());
+		writer.write(event);
+		assertEquals(1, sink.flushes);
+		assertEquals(3 * (event.toString() + System.lineSeparator()).length(), sink.text.length());
+		writer.write(event);
+		writer.close();
+		assertEquals(4, sink.text.toString().split(System.lineSeparator()).length);
+
+		assertThrows(IllegalArgumentException.class, () -> new ActivityRecordWriter(new StringWriter(), 0));
+		assertThrows(IllegalArgumentException.class, () -> new ActivityRecordWriter((Writer) null));
+	}
+
+	/**
+	 * Tests that write errors from the underlying writer are thrown.
+	 */
+	@Test
+	public void testWriteError() {
+		ActivityRecordWriter writer = new ActivityRecordWriter(new CountingWriter() {
+			@Override
+			public void write(char[] cbuf, int off, int len) throws IOException {
+				throw new IOException("Disk full");
+			}
+		}, 1);
+		assertThrows(IOException.class, () -> writer.write(new Event("Exercise", "MWF", 800, 900, "Gym")));
+	}
+
+	/**
+	 * Writer that keeps what it is given and counts flushes.
+	 */
+	private static class CountingWriter extends Writer {
+		/** Text written so far */
+		private StringBuilder text = new StringBuilder();
+		/** Number of flushes */
+		private int flushes;
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			text.append(cbuf, off, len);
+		}
+
+		@Override
+		public void flush() {
+			flushes++;
+		}
+
+		@Override
+		public void close() {
+			//nothing to release
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CatalogSnapshotWriter and CatalogSnapshotReader.
+ * @author David Mond
+ */
+public class CatalogSnapshotReaderTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/**
+	 * Tests that a catalog written to a snapshot reads back the same, in the same order.
+	 * @throws IOException if the snapshot cannot be written or read
+	 */
+	@Test
+	public void testWriteAndReadSnapshot() throws IOException {
+		ArrayList<Course> catalog = CourseRecordIO.readCourseRecords(validTestFile);
+		Path snapshot = Files.createTempFile("catalog", ".snapshot");
+		try {
+			CatalogSnapshotWriter.writeSnapshot(snapshot.toString(), validTestFile, catalog);
+			ArrayList<Course> read = CatalogSnapshotReader.readSnapshot(snapshot.toString(), validTestFile);
+			assertEquals(catalog, read);
+			for (int i = 0; i < catalog.size(); i++) {
+				assertEquals(catalog.get(i).toString(), read.get(i).toString());
+				assertEquals(catalog.get(i).getMeetingDayMask(), read.get(i).getMeetingDayMask());
+			}
+			//only the reader can build Courses without their checks
+			assertThrows(IllegalArgumentException.class,
+					() -> Course.fromSnapshot(null, "CSC 216", "Title", "001", 3, "sesmith5", "A", 0, 0));
+			//repeated strings are shared between the courses read back
+			assertSame(read.get(0).getTitle(), read.get(1).getTitle());
+			
+			CatalogSnapshotWriter.writeSnapshot(snapshot.toString(), validTestFile, new ArrayList<Course>());
+			assertEquals(0, CatalogSnapshotReader.readSnapshot(snapshot.toString(), validTestFile).size());
+		} finally {
+			Files.delete(snapshot);
+		}
+	}
+
+	/**
+	 * Tests that a snapshot whose contents were changed, or that was cut short, is rejected.
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	@Test
+	public void testReadCorruptSnapshot() throws IOException {
+		ArrayList<Course> catalog = CourseRecordIO.readCourseRecords(validTestFile);
+		Path snapshot = Files.createTempFile("catalog", ".snapshot");
+		try {
+			CatalogSnapshotWriter.writeSnapshot(snapshot.toString(), validTestFile, catalog);
+			byte[] bytes = Files.readAllBytes(snapshot);
+			
+			byte[] changed = bytes.clone();
+			changed[changed.length / 2] ^= 1;
+			Files.write(snapshot, changed);
+			Exception e = assertThrows(IOException.class, () -> CatalogSnapshotReader.readSnapshot(snapshot.toString(), validTestFile));
+			assertEquals("Catalog snapshot checksum does not match.", e.getMessage());
+			
+			byte[] truncated = new byte[bytes.length - 3];
+			System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+			Files.write(snapshot, truncated);
+			assertThrows(IOException.class, () -> CatalogSnapshotReader.readSnapshot(snapshot.toString(), validTestFile));
+			
+			//a text catalog is not a snapshot
+			assertThrows(IOException.class, () -> CatalogSnapshotReader.readSnapshot(validTestFile, validTestFile));
+		} finally {
+			Files.delete(snapshot);
+		}
+	}
+
+	/**
+	 * Tests that a snapshot is rejected once the text catalog it was written from changes.
+	 * @throws IOException if the files cannot be written
+	 */
+	@Test
+	public void testReadStaleSnapshot() throws IOException {
+		Path source = Files.createTempFile("catalog", ".txt");
+		Path snapshot = Files.createTempFile("catalog", ".snapshot");
+		try {
+			Files.copy(Paths.get(validTestFile), source, StandardCopyOption.REPLACE_EXISTING);
+			CatalogSnapshotWriter.writeSnapshot(snapshot.toString(), source.toString(),
+					CourseRecordIO.readCourseRecords(source.toString()));
+			assertEquals(13, CatalogSnapshotReader.readSnapshot(snapshot.toString(), source.toString()).size());
+			
+			//touching the file without changing it keeps the snapshot
+			FileTime time = FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 2000);
+			Files.setLastModifiedTime(source, time);
+			assertEquals(13, CatalogSnapshotReader.readSnapshot(snapshot.toString(), source.toString()).size());
+			
+			//same size, same time, one section changed
+			String text = new String(Files.readAllBytes(source));
+			Files.write(source, text.replaceFirst(",001,", ",009,").getBytes());
+			Files.setLastModifiedTime(source, time);
+			assertEquals(text.length(), Files.size(source));
+			Exception e = assertThrows(IOException.class,
+					() -> CatalogSnapshotReader.readSnapshot(snapshot.toString(), source.toString()));
+			assertEquals("Catalog snapshot is out of date.", e.getMessage());
+			
+			//different size
+			CatalogSnapshotWriter.writeSnapshot(snapshot.toString(), source.toString(),
+					CourseRecordIO.readCourseRecords(source.toString()));
+			Files.write(source, "\n".getBytes(), StandardOpenOption.APPEND);
+			assertThrows(IOException.class, () -> CatalogSnapshotReader.readSnapshot(snapshot.toString(), source.toString()));
+		} finally {
+			Files.delete(source);
+			Files.delete(snapshot);
+		}
+	}
+}
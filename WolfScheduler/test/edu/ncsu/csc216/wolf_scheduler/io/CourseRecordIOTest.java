@@ -12,7 +12,10 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
@@ -107,6 +110,232 @@ public class CourseRecordIOTest {
 		}
 	}
 	
+	/**
+	 * Tests that readCourseRecords() keeps the first course read for each name and section,
+	 * including when the duplicates are far apart in a large file.
+	 */
+	@Test
+	public void testReadCourseRecordsDuplicates() {
+		final int sections = 20000;
+		try {
+			Path file = Files.createTempFile("duplicate_course_records", ".txt");
+			ArrayList<String> lines = new ArrayList<String>();
+			for (int i = 0; i < sections; i++) {
+				lines.add("CSC " + (100 + i / 1000) + ",Original Title," + String.format("%03d", i % 1000) + ",3,first,MW,1330,1445");
+			}
+			for (int i = 0; i < sections; i++) {
+				lines.add("CSC " + (100 + i / 1000) + ",Duplicate Title," + String.format("%03d", i % 1000) + ",3,second,A");
+			}
+			//Same section as the first line, different name, so it is not a duplicate
+			lines.add("MA 100,Calculus,000,4,third,TH,800,915");
+			Files.write(file, lines);
+			
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(file.toString());
+			Files.delete(file);
+			assertEquals(sections + 1, courses.size());
+			for (int i = 0; i < sections; i++) {
+				assertEquals("first", courses.get(i).getInstructorId());
+			}
+			assertEquals("MA 100", courses.get(sections).getName());
+		} catch (IOException e) {
+			fail("Unexpected error writing or reading the duplicate course records");
+		}
+	}
+	
+	/**
+	 * Tests that readCourseRecords() reports each batch of lines to a listener and stops
+	 * when the listener asks it to.
+	 */
+	@Test
+	public void testReadCourseRecordsInBatches() {
+		try {
+			ArrayList<int[]> counts = new ArrayList<int[]>();
+			ArrayList<Course> seen = new ArrayList<Course>();
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, 5, (batch, lines, rejected) -> {
+				counts.add(new int[] {batch.size(), lines, rejected});
+				assertThrows(UnsupportedOperationException.class, () -> batch.add(batch.get(0)));
+				seen.clear();
+				seen.addAll(batch);
+				return true;
+			});
+			assertEquals(13, courses.size());
+			assertEquals(courses, seen);
+			//the fourth line repeats the second course, and the last batch is a partial one
+			assertEquals(3, counts.size());
+			assertArrayEquals(new int[] {4, 5, 1}, counts.get(0));
+			assertArrayEquals(new int[] {9, 10, 1}, counts.get(1));
+			assertArrayEquals(new int[] {13, 14, 1}, counts.get(2));
+			
+			counts.clear();
+			courses = CourseRecordIO.readCourseRecords(invalidTestFile, 100, (batch, lines, rejected) -> {
+				counts.add(new int[] {batch.size(), lines, rejected});
+				return true;
+			});
+			assertTrue(courses.isEmpty());
+			assertArrayEquals(new int[] {0, 25, 25}, counts.get(0));
+			
+			//stopping after the first batch returns the courses read so far
+			counts.clear();
+			courses = CourseRecordIO.readCourseRecords(validTestFile, 5, (batch, lines, rejected) -> {
+				counts.add(new int[] {batch.size(), lines, rejected});
+				return false;
+			});
+			assertEquals(4, courses.size());
+			assertEquals(1, counts.size());
+			
+			assertThrows(IllegalArgumentException.class, () -> CourseRecordIO.readCourseRecords(validTestFile, 0, null));
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+	
+	/**
+	 * Tests readCourseRecordsMapped() returns the same courses as readCourseRecords().
+	 */
+	@Test
+	public void testReadCourseRecordsMapped() {
+		try {
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecordsMapped(validTestFile);
+			assertEquals(13, courses.size());
+			for (int i = 0; i < validCourses.length; i++) {
+				assertEquals(validCourses[i], courses.get(i).toString());
+			}
+			assertEquals(0, CourseRecordIO.readCourseRecordsMapped(invalidTestFile).size());
+		} catch (IOException e) {
+			fail("Unexpected error reading mapped course records");
+		}
+		assertThrows(FileNotFoundException.class, () -> CourseRecordIO.readCourseRecordsMapped("test-files/no_such_file.txt"));
+	}
+	
+	/**
+	 * Tests readCourseRecordsMapped() when the file is mapped in windows smaller than the
+	 * file, including a line that is longer than a whole window.
+	 */
+	@Test
+	public void testReadCourseRecordsMappedWindows() {
+		try {
+			Path file = Files.createTempFile("mapped_course_records", ".txt");
+			StringBuilder text = new StringBuilder();
+			text.append("CSC 116,Intro to Programming - Java,001,3,jdyoung2,MW,910,1100\r\n");
+			for (int i = 0; i < 100; i++) {
+				text.append("Very Long Title ");
+			}
+			text.append("\r\n");
+			text.append("CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445\r\n");
+			text.append("CSC 216,Software Development Fundamentals,601,3,jctetter,A");
+			Files.write(file, text.toString().getBytes());
+			
+			ArrayList<Course> expected = CourseRecordIO.readCourseRecords(file.toString());
+			assertEquals(3, expected.size());
+			for (int window = 100; window <= 200; window += 7) {
+				ArrayList<Course> courses = CourseRecordIO.readCourseRecordsMapped(file.toString(), window, null, 0);
+				assertEquals(expected, courses, "window size " + window);
+			}
+			Files.delete(file);
+		} catch (IOException e) {
+			fail("Unexpected error writing or reading mapped course records");
+		}
+	}
+	
+	/**
+	 * Tests readCourseRecordsParallel() returns the same courses, in the same order and with
+	 * the same duplicates removed, as readCourseRecords() when the file is split into many
+	 * chunks and windows.
+	 */
+	@Test
+	public void testReadCourseRecordsParallel() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecordsParallel(validTestFile, pool);
+			assertEquals(13, courses.size());
+			for (int i = 0; i < validCourses.length; i++) {
+				assertEquals(validCourses[i], courses.get(i).toString());
+			}
+			assertEquals(0, CourseRecordIO.readCourseRecordsParallel(invalidTestFile, pool).size());
+			
+			//Mix valid lines, invalid lines, and duplicates that land in different chunks
+			Path file = Files.createTempFile("parallel_course_records", ".txt");
+			List<String> invalid = Files.readAllLines(FileSystems.getDefault().getPath(invalidTestFile));
+			StringBuilder text = new StringBuilder();
+			for (int i = 0; i < 5000; i++) {
+				text.append("CSC " + (100 + i % 700) + ",Title " + i + "," + String.format("%03d", i % 7)
+						+ ",3,instr" + i + ",MW,1330,1445" + (i % 3 == 0 ? "\r\n" : "\n"));
+				if (i % 11 == 0) {
+					text.append(invalid.get(i % invalid.size()) + "\n");
+				}
+			}
+			Files.write(file, text.toString().getBytes());
+			ArrayList<Course> expected = CourseRecordIO.readCourseRecords(file.toString());
+			assertEquals(expected, CourseRecordIO.readCourseRecordsParallel(file.toString(), pool));
+			assertEquals(expected, CourseRecordIO.readCourseRecordsMapped(file.toString(), 4096, pool, 100));
+			assertEquals(expected, CourseRecordIO.readCourseRecordsMapped(file.toString(), Integer.MAX_VALUE, pool, 1));
+			Files.delete(file);
+		} catch (IOException e) {
+			fail("Unexpected error reading course records in parallel");
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Tests that courses read from one file share the Strings of repeated field values, and
+	 * that on a catalog shaped like a real one the shared Strings take less than a quarter of
+	 * the heap separate copies would. FieldPoolingReport in the benchmarks module reports the
+	 * bytes per course for any catalog file.
+	 */
+	@Test
+	public void testSharedFieldValues() {
+		try {
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+			assertSame(courses.get(0).getTitle(), courses.get(1).getTitle());
+			assertSame(courses.get(0).getName(), courses.get(2).getName());
+			assertSame(courses.get(3).getInstructorId(), courses.get(9).getInstructorId());
+			assertSame(courses.get(0).getMeetingDays(), courses.get(1).getMeetingDays());
+			assertSame(courses.get(0).getSection(), courses.get(3).getSection());
+			courses = CourseRecordIO.readCourseRecordsMapped(validTestFile);
+			assertSame(courses.get(0).getTitle(), courses.get(1).getTitle());
+
+			//a catalog shaped like a real one: many sections of each course, a few hundred
+			//instructors, and a handful of meeting patterns
+			Path file = Files.createTempFile("pooled_course_records", ".txt");
+			String[] days = {"MW", "TH", "MWF", "M", "T", "W", "H", "F"};
+			StringBuilder text = new StringBuilder();
+			for (int i = 0; i < 20000; i++) {
+				text.append("CSC " + (100 + i / 25 % 800) + ",Generated Course Title Number " + i / 25 % 800 + ","
+						+ String.format("%03d", i % 25 + 1) + ",3,instr" + i % 400 + ","
+						+ days[i % days.length] + ",1330,1445\n");
+			}
+			Files.write(file, text.toString().getBytes());
+			courses = CourseRecordIO.readCourseRecords(file.toString());
+			Files.delete(file);
+			long copied = 0;
+			long pooled = 0;
+			IdentityHashMap<String, Boolean> counted = new IdentityHashMap<String, Boolean>();
+			for (Course c : courses) {
+				String[] fields = {c.getName(), c.getTitle(), c.getSection(), c.getInstructorId(), c.getMeetingDays()};
+				for (String field : fields) {
+					copied += stringBytes(field);
+					if (counted.put(field, Boolean.TRUE) == null) {
+						pooled += stringBytes(field);
+					}
+				}
+			}
+			assertTrue(pooled < copied / 4);
+		} catch (IOException e) {
+			fail("Unexpected error reading course records");
+		}
+	}
+	
+	/**
+	 * Estimates the heap taken by a String of single byte characters on a 64 bit JVM with
+	 * compressed references: a 24 byte String object and its byte array, padded to 8 bytes.
+	 * @param s String to measure
+	 * @return estimated bytes
+	 */
+	private static long stringBytes(String s) {
+		return 24 + (16 + s.length() + 7) / 8 * 8;
+	}
+	
 	/**
 	 * Tests writeCourseRecords()
 	 */
@@ -0,0 +1,207 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CourseRecordTokenizer against the Scanner based parser it replaces.
+ * @author David Mond
+ */
+public class CourseRecordTokenizerTest {
+
+	/** Lines on the edges of the record format */
+	private final String[] edgeCases = {
+		"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445",
+		"CSC 216,Software Development Fundamentals,601,3,jctetter,A",
+		",CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445",
+		",,CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445",
+		"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445,",
+		"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445,,",
+		",CSC 216,Software Development Fundamentals,601,3,jctetter,A,",
+		"CSC 216,Software Development Fundamentals,601,3,jctetter,A,,",
+		"CSC 216,Software Development Fundamentals,001,+3,sesmith5,MW,1330,1445",
+		"CSC 216,Software Development Fundamentals,001,-3,sesmith5,MW,1330,1445",
+		"CSC 216,Software Development Fundamentals,001, 3,sesmith5,MW,1330,1445",
+		"CSC 216,Software Development Fundamentals,001,3 ,sesmith5,MW,1330,1445",
+		"CSC 216,Software Development Fundamentals,001,\u0663,sesmith5,MW,1330,1445",
+		"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,+1330,01445",
+		"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,99999999999,1445",
+		"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,-2147483648,1445",
+		"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,2147483648,1445",
+		"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,-,1445",
+		"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,",
+		"CSC 216,,001,3,sesmith5,MW,1330,1445",
+		"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445,1,2,3",
+		"",
+		",",
+		",,",
+		"CSC 216",
+	};
+
+	/**
+	 * Tests that the tokenizer accepts and rejects the same edge case lines as the Scanner
+	 * parser, and builds the same Course when it accepts.
+	 */
+	@Test
+	public void testParseMatchesScanner() {
+		for (String line : edgeCases) {
+			assertSameResult(line);
+		}
+	}
+
+	/**
+	 * Tests that every line of the valid and invalid test files parses the same way.
+	 * @throws IOException if the test files cannot be read
+	 */
+	@Test
+	public void testTestFilesMatchScanner() throws IOException {
+		for (String line : Files.readAllLines(Paths.get("test-files/starter_course_records.txt"))) {
+			assertSameResult(line);
+		}
+		for (String line : Files.readAllLines(Paths.get("test-files/invalid_course_records.txt"))) {
+			assertSameResult(line);
+		}
+	}
+
+	/**
+	 * Tests that lines are split on the same separators a Scanner uses.
+	 * @throws IOException if the reader fails
+	 */
+	@Test
+	public void testNextLine() throws IOException {
+		String text = "a\r\nb\rc\nd\u2028e\u2029f\u0085g\n\nh";
+		CourseRecordTokenizer tokenizer = new CourseRecordTokenizer(new StringReader(text));
+		Scanner scanner = new Scanner(text);
+		int lines = 0;
+		while (scanner.hasNextLine()) {
+			assertTrue(tokenizer.nextLine());
+			String expected = scanner.nextLine();
+			if (expected.isEmpty()) {
+				assertThrows(IllegalArgumentException.class, () -> tokenizer.readCourse());
+			}
+			lines++;
+		}
+		assertFalse(tokenizer.nextLine());
+		assertEquals(9, lines);
+		scanner.close();
+	}
+
+	/**
+	 * Tests parseInt() on the forms Scanner.nextInt() accepts and rejects.
+	 */
+	@Test
+	public void testParseInt() {
+		assertEquals(910, parse("0910"));
+		assertEquals(3, parse("+3"));
+		assertEquals(-3, parse("-3"));
+		assertEquals(Integer.MAX_VALUE, parse("2147483647"));
+		assertEquals(Integer.MIN_VALUE, parse("-2147483648"));
+		assertThrows(IllegalArgumentException.class, () -> parse("2147483648"));
+		assertThrows(IllegalArgumentException.class, () -> parse("-2147483649"));
+		assertThrows(IllegalArgumentException.class, () -> parse(""));
+		assertThrows(IllegalArgumentException.class, () -> parse("+"));
+		assertThrows(IllegalArgumentException.class, () -> parse("1a"));
+	}
+
+	/**
+	 * Asserts that the tokenizer and the Scanner parser give the same result for a line.
+	 * @param line course record to parse
+	 */
+	private void assertSameResult(String line) {
+		Course expected = null;
+		try {
+			expected = readCourseWithScanner(line);
+		} catch (IllegalArgumentException e) {
+			//expected stays null for rejected lines
+		}
+		Course actual = null;
+		try {
+			char[] chars = line.toCharArray();
+			actual = new CourseRecordTokenizer(new StringReader("")).parseCourse(chars, 0, chars.length);
+		} catch (IllegalArgumentException e) {
+			//actual stays null for rejected lines
+		}
+		if (expected == null) {
+			assertNull(actual, "Tokenizer accepted a line the Scanner rejects: " + line);
+		} else {
+			assertNotNull(actual, "Tokenizer rejected a line the Scanner accepts: " + line);
+			assertEquals(expected.toString(), actual.toString(), line);
+		}
+	}
+
+	/**
+	 * Parses a number with the tokenizer.
+	 * @param number text to parse
+	 * @return the parsed value
+	 */
+	private int parse(String number) {
+		return CourseRecordTokenizer.parseInt(number.toCharArray(), 0, number.length());
+	}
+
+	/**
+	 * Reads course string and returns a course object that defines the courses characteristics.
+	 * This is the original Scanner based parser from CourseRecordIO, kept as the reference
+	 * the tokenizer is checked against. CourseRecordIOBenchmark times its own copy.
+	 * @param nextLine nextLine input for the scanner to read the course string.
+	 * @return Course returns a course object for the inputed course string.
+	 */
+	private static Course readCourseWithScanner(String nextLine) {
+		//create scanner
+		Scanner courseReader = new Scanner(nextLine);
+		//set , as delimiter
+		courseReader.useDelimiter(",");
+		
+		try {
+			// store each token in a local variable
+			String courseName = courseReader.next();
+			String courseTitle = courseReader.next();
+			String courseSection = courseReader.next();
+			int courseCredits = courseReader.nextInt();
+			String courseInstructorId = courseReader.next();
+			String courseMeetingDays = courseReader.next();
+			
+			//arranged
+			if("A".equals(courseMeetingDays)) {
+				//if there is a time listed, throw exception
+				if(courseReader.hasNext()) {
+					courseReader.close();
+					throw new IllegalArgumentException("Too many tokens.");
+				}
+				else {
+					courseReader.close();
+					//course constructor without times
+					return new Course(courseName, courseTitle, courseSection, courseCredits, courseInstructorId, courseMeetingDays);
+				}
+			}
+			else {
+				//store time tokens in local variables
+				int courseStartTime = courseReader.nextInt();
+				int courseEndTime = courseReader.nextInt();
+				
+				//if too many tokens, throw exception
+				if(courseReader.hasNext()) {
+					courseReader.close();
+					throw new IllegalArgumentException("Too many tokens.");
+				}
+				courseReader.close();
+				//course constructor with times
+				return new Course(courseName, courseTitle, courseSection, courseCredits, courseInstructorId, courseMeetingDays, courseStartTime, courseEndTime);
+			}
+		}
+		//throw IAE if NoSuchElementException
+		catch(NoSuchElementException e) {
+			courseReader.close();
+			throw new IllegalArgumentException("IllegalArgumentException.");
+		}
+	}
+}
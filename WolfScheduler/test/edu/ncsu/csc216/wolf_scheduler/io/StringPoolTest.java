@@ -0,0 +1,50 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests StringPool.
+ * @author David Mond
+ */
+public class StringPoolTest {
+
+	/**
+	 * Tests that equal runs of characters give the same String and different runs don't.
+	 */
+	@Test
+	public void testIntern() {
+		StringPool pool = new StringPool();
+		char[] line = "CSC 216,CSC 216,CSC 217,,CSC 21".toCharArray();
+		String first = pool.intern(line, 0, 7);
+		assertEquals("CSC 216", first);
+		assertSame(first, pool.intern(line, 8, 7));
+		String other = pool.intern(line, 16, 7);
+		assertEquals("CSC 217", other);
+		assertNotSame(first, other);
+		assertEquals("CSC 21", pool.intern(line, 25, 6));
+		assertEquals("", pool.intern(line, 24, 0));
+		assertSame(pool.intern(line, 24, 0), pool.intern(line, 7, 0));
+		assertEquals(4, pool.size());
+	}
+
+	/**
+	 * Tests that Strings stay shared as the pool grows past its starting size.
+	 */
+	@Test
+	public void testGrow() {
+		StringPool pool = new StringPool();
+		String[] kept = new String[5000];
+		for (int i = 0; i < kept.length; i++) {
+			char[] value = ("instr" + i).toCharArray();
+			kept[i] = pool.intern(value, 0, value.length);
+		}
+		assertEquals(kept.length, pool.size());
+		for (int i = 0; i < kept.length; i++) {
+			char[] value = ("instr" + i).toCharArray();
+			assertSame(kept[i], pool.intern(value, 0, value.length));
+		}
+		assertEquals(kept.length, pool.size());
+	}
+}
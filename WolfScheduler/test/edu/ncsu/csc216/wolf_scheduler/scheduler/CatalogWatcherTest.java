@@ -0,0 +1,67 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests CatalogWatcher.
+ * @author David Mond
+ */
+public class CatalogWatcherTest {
+
+	/**
+	 * Tests that replacing the watched catalog file reloads it into the scheduler, and that
+	 * changes to other files in the directory are ignored.
+	 * @throws IOException if the files cannot be written
+	 * @throws InterruptedException if interrupted while waiting for a change
+	 */
+	@Test
+	public void testPoll() throws IOException, InterruptedException {
+		Path dir = Files.createTempDirectory("catalog_watch");
+		Path catalogFile = dir.resolve("course_records.txt");
+		List<String> lines = Files.readAllLines(FileSystems.getDefault().getPath("test-files", "starter_course_records.txt"));
+		Files.write(catalogFile, lines);
+		WolfScheduler ws = new WolfScheduler(catalogFile.toString());
+		assertTrue(ws.addCourseToSchedule("CSC 216", "001"));
+		
+		try (CatalogWatcher watcher = new CatalogWatcher(ws, catalogFile.toString())) {
+			assertNull(watcher.poll());
+			
+			//Writing a different file doesn't reload
+			Files.write(dir.resolve("other.txt"), lines);
+			assertNull(watcher.poll(500, TimeUnit.MILLISECONDS));
+			
+			//Replace the catalog the way the registrar does: write and rename over it
+			ArrayList<String> updated = new ArrayList<String>(lines);
+			updated.add("CSC 492,Senior Design,001,3,jtking,MW,1500,1615");
+			Path temp = dir.resolve("course_records.tmp");
+			Files.write(temp, updated);
+			Files.move(temp, catalogFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			
+			CatalogDelta delta = null;
+			for (int i = 0; i < 20 && delta == null; i++) {
+				delta = watcher.poll(500, TimeUnit.MILLISECONDS);
+			}
+			assertNotNull(delta, "Catalog change was not noticed");
+			assertEquals(1, delta.getAdded().size());
+			assertEquals(0, delta.getRemoved().size());
+			assertNotNull(ws.getCourseFromCatalog("CSC 492", "001"));
+			assertEquals(1, ws.getScheduledActivities().length);
+		} finally {
+			Files.deleteIfExists(dir.resolve("other.txt"));
+			Files.deleteIfExists(catalogFile);
+			Files.deleteIfExists(dir.resolve("course_records.txt" + CourseCatalog.SNAPSHOT_SUFFIX));
+			Files.delete(dir);
+		}
+	}
+}
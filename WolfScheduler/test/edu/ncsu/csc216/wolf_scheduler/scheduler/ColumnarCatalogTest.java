@@ -0,0 +1,109 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the ColumnarCatalog class.
+ * @author David Mond
+ */
+public class ColumnarCatalogTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/**
+	 * Tests that every row reads back the course it was built from.
+	 */
+	@Test
+	public void testRows() {
+		CourseCatalog catalog = CourseCatalog.load(validTestFile);
+		ColumnarCatalog columns = ColumnarCatalog.load(validTestFile);
+		assertEquals(13, columns.size());
+		WolfScheduler ws = new WolfScheduler(catalog);
+		assertArrayEquals(ws.getCourseCatalog(), columns.getShortDisplayArray());
+		for (int row = 0; row < columns.size(); row++) {
+			Course c = catalog.get(row);
+			Course view = columns.getCourse(row);
+			assertEquals(c, view);
+			assertNotSame(view, columns.getCourse(row));
+			assertEquals(c.getMeetingDays(), view.getMeetingDays());
+			assertEquals(c.getInstructorId(), columns.getInstructorId(row));
+			assertEquals(c.getCredits(), columns.getCredits(row));
+			assertEquals(c.getStartTime(), columns.getStartTime(row));
+			assertEquals(c.getEndTime(), columns.getEndTime(row));
+			assertEquals(c.getMeetingDayMask(), columns.getMeetingDayMask(row));
+		}
+		//changing a view leaves the catalog alone
+		columns.getCourse(0).setInstructorId("nobody");
+		assertEquals("jdyoung2", columns.getInstructorId(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> columns.getCourse(13));
+	}
+
+	/**
+	 * Tests filtering by meeting days and sorting by start time.
+	 */
+	@Test
+	public void testScans() {
+		ColumnarCatalog columns = ColumnarCatalog.load(validTestFile);
+		assertArrayEquals(new int[] {2, 3}, columns.findByMeetingDays("HT"));
+		assertEquals(5, columns.findByMeetingDays("MW").length);
+		assertArrayEquals(new int[] {5, 9}, columns.findByMeetingDays("A"));
+		assertEquals(0, columns.findByMeetingDays("X").length);
+		assertEquals(0, columns.findByMeetingDays("MX").length);
+		assertEquals(0, columns.findByMeetingDays("MM").length);
+		assertEquals(0, columns.findByMeetingDays("").length);
+		//TH courses plus the Tuesday lab
+		assertArrayEquals(new int[] {2, 3, 7}, columns.findMeetingOn(Activity.TUESDAY));
+		assertEquals(11, columns.findMeetingOn(Activity.ALL_DAYS).length);
+		ArrayList<Course> labs = columns.getCourses(columns.findByMeetingDays("M"));
+		assertEquals(1, labs.size());
+		assertEquals("202", labs.get(0).getSection());
+
+		int[] byStart = columns.sortByStartTime();
+		assertEquals(13, byStart.length);
+		//arranged first, then CSC 217 211 and CSC 316 001 at 8:30 in catalog order
+		assertArrayEquals(new int[] {5, 9, 7, 12}, Arrays.copyOf(byStart, 4));
+		for (int i = 1; i < byStart.length; i++) {
+			assertTrue(columns.getStartTime(byStart[i - 1]) <= columns.getStartTime(byStart[i]));
+		}
+		String[][] display = columns.getShortDisplayArray(new int[] {12, 0});
+		assertEquals("CSC 316", display[0][0]);
+		assertEquals("MW 9:10AM-11:00AM", display[1][3]);
+	}
+
+	/**
+	 * Tests a large catalog against the Course list it was built from. CatalogFootprintReport
+	 * in the benchmarks module compares the heap the two take.
+	 */
+	@Test
+	public void testLargeCatalog() {
+		final int size = 50000;
+		CourseCatalog catalog = RegistrationLoadSimulator.generateCatalog(size, new Random(216));
+		List<Course> courses = catalog.getCourses();
+		ColumnarCatalog columns = new ColumnarCatalog(courses);
+
+		assertEquals(size, columns.size());
+		int[] byStart = columns.sortByStartTime();
+		for (int i = 1; i < byStart.length; i++) {
+			assertTrue(courses.get(byStart[i - 1]).getStartTime() <= courses.get(byStart[i]).getStartTime());
+		}
+		int mwf = 0;
+		for (Course c : courses) {
+			if ("MWF".equals(c.getMeetingDays())) {
+				mwf++;
+			}
+		}
+		assertEquals(mwf, columns.findByMeetingDays("MWF").length);
+		assertEquals(courses.get(size - 1), columns.getCourse(size - 1));
+	}
+}
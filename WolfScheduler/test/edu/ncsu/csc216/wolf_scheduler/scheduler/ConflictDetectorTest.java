@@ -0,0 +1,133 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Random;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the ConflictDetector class.
+ * @author David Mond
+ */
+public class ConflictDetectorTest {
+
+	/** Meeting day patterns used for generated activities */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "M", "W", "MTWHF", "A"};
+
+	/**
+	 * Tests the edges of what counts as a conflict.
+	 */
+	@Test
+	public void testConflictRules() {
+		ConflictDetector detector = new ConflictDetector();
+		Course course = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+		detector.add(course);
+		assertEquals(1, detector.size());
+
+		//touching times conflict, times a minute apart do not
+		assertTrue(detector.hasConflict(new Event("Meeting", "W", 1445, 1500, "Club")));
+		assertTrue(detector.hasConflict(new Event("Meeting", "M", 1200, 1330, "Club")));
+		assertFalse(detector.hasConflict(new Event("Meeting", "MW", 1446, 1500, "Club")));
+		assertFalse(detector.hasConflict(new Event("Meeting", "THF", 1330, 1445, "Club")));
+		//arranged courses never conflict, and an activity never conflicts with itself
+		assertFalse(detector.hasConflict(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A")));
+		assertFalse(detector.hasConflict(course));
+
+		assertThrows(IllegalArgumentException.class, () -> detector.add(course));
+		assertTrue(detector.remove(course));
+		assertFalse(detector.remove(course));
+		assertFalse(detector.hasConflict(new Event("Meeting", "W", 1400, 1500, "Club")));
+	}
+
+	/**
+	 * Tests that an activity that conflicts on several days is only returned once.
+	 */
+	@Test
+	public void testFindConflictsOncePerActivity() {
+		Event exercise = new Event("Exercise", "MTWHF", 800, 900, "Gym");
+		ConflictDetector detector = new ConflictDetector();
+		detector.add(exercise);
+		ArrayList<Activity> conflicts = detector.findConflicts(new Event("Breakfast", "MWF", 830, 845, "Food"));
+		assertEquals(1, conflicts.size());
+		assertSame(exercise, conflicts.get(0));
+		detector.clear();
+		assertEquals(0, detector.size());
+		assertTrue(detector.findConflicts(new Event("Breakfast", "MWF", 830, 845, "Food")).isEmpty());
+	}
+
+	/**
+	 * Tests the detector against a pairwise check on a large random catalog, adding and
+	 * removing activities along the way.
+	 */
+	@Test
+	public void testMatchesPairwiseCheck() {
+		Random random = new Random(42);
+		ArrayList<Activity> catalog = new ArrayList<Activity>();
+		for (int i = 0; i < 3000; i++) {
+			catalog.add(randomActivity(random, i));
+		}
+		ConflictDetector detector = new ConflictDetector(catalog);
+		assertEquals(catalog.size(), detector.size());
+
+		for (int round = 0; round < 300; round++) {
+			Activity candidate = randomActivity(random, -1);
+			assertSameConflicts(catalog, detector, candidate);
+			//also check an activity that is in the detector
+			assertSameConflicts(catalog, detector, catalog.get(random.nextInt(catalog.size())));
+
+			Activity removed = catalog.remove(random.nextInt(catalog.size()));
+			assertTrue(detector.remove(removed));
+			Activity added = randomActivity(random, round);
+			catalog.add(added);
+			detector.add(added);
+		}
+		assertEquals(catalog.size(), detector.size());
+	}
+
+	/**
+	 * Asserts that the detector finds exactly the activities a pairwise check finds.
+	 * @param catalog every activity in the detector
+	 * @param detector detector to check
+	 * @param candidate activity to look for conflicts with
+	 */
+	private void assertSameConflicts(ArrayList<Activity> catalog, ConflictDetector detector, Activity candidate) {
+		IdentityHashMap<Activity, Boolean> expected = new IdentityHashMap<Activity, Boolean>();
+		for (Activity a : catalog) {
+			if (a != candidate && a.conflictsWith(candidate)) {
+				expected.put(a, Boolean.TRUE);
+			}
+		}
+		ArrayList<Activity> actual = detector.findConflicts(candidate);
+		assertEquals(expected.size(), actual.size());
+		for (Activity a : actual) {
+			assertTrue(expected.containsKey(a));
+		}
+		assertEquals(!expected.isEmpty(), detector.hasConflict(candidate));
+	}
+
+	/**
+	 * Creates an activity with random days and times.
+	 * @param random source of randomness
+	 * @param id number used to name the activity
+	 * @return a new activity
+	 */
+	private Activity randomActivity(Random random, int id) {
+		String days = DAYS[random.nextInt(DAYS.length)];
+		if ("A".equals(days)) {
+			return new Course("CSC " + (100 + Math.abs(id) % 900), "Independent Study", "601", 3, "jctetter", "A");
+		}
+		int start = (7 + random.nextInt(12)) * 100 + random.nextInt(60);
+		int end = start + 50 + random.nextInt(3) * 25;
+		if (end % 100 > 59) {
+			end += 40;
+		}
+		return new Event("Event " + id, days, start, Math.min(2359, end), "Generated");
+	}
+}
@@ -0,0 +1,278 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogSnapshotReader;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogSnapshotWriter;
+
+/**
+ * Tests the CourseCatalog class.
+ * @author David Mond
+ */
+public class CourseCatalogTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/**
+	 * Tests loading a catalog and looking courses up in it.
+	 */
+	@Test
+	public void testLoad() {
+		CourseCatalog catalog = CourseCatalog.load(validTestFile);
+		assertEquals(13, catalog.size());
+		assertEquals("CSC 116", catalog.get(0).getName());
+		assertSame(catalog.get(0), catalog.getCourse("CSC 116", "001"));
+		assertNull(catalog.getCourse("CSC 492", "001"));
+		assertEquals(3, catalog.getSections("CSC 216").size());
+		assertTrue(catalog.getSections("CSC 492").isEmpty());
+
+		//nothing a caller gets back can change the catalog
+		assertThrows(UnsupportedOperationException.class, () -> catalog.getCourses().clear());
+		catalog.getSections("CSC 216").clear();
+		assertEquals(3, catalog.getSections("CSC 216").size());
+
+		Exception e = assertThrows(IllegalArgumentException.class, () -> CourseCatalog.load("test-files/missing.txt"));
+		assertEquals("Cannot find file.", e.getMessage());
+	}
+
+	/**
+	 * Tests the instructor, meeting day, and credit indexes and combined filters.
+	 */
+	@Test
+	public void testFilter() {
+		CourseCatalog catalog = CourseCatalog.load(validTestFile);
+		
+		ArrayList<Course> sesmith5 = catalog.getCoursesByInstructor("sesmith5");
+		assertEquals(5, sesmith5.size());
+		assertEquals("CSC 216", sesmith5.get(0).getName());
+		assertEquals("601", sesmith5.get(4).getSection());
+		assertTrue(catalog.getCoursesByInstructor("nobody").isEmpty());
+		
+		//exact day patterns, in any order
+		assertEquals(2, catalog.getCoursesByMeetingDays("TH").size());
+		assertEquals(2, catalog.getCoursesByMeetingDays("HT").size());
+		assertEquals(5, catalog.getCoursesByMeetingDays("MW").size());
+		assertEquals(2, catalog.getCoursesByMeetingDays("A").size());
+		assertTrue(catalog.getCoursesByMeetingDays("F").isEmpty());
+		assertTrue(catalog.getCoursesByMeetingDays("X").isEmpty());
+		assertTrue(catalog.getCoursesByMeetingDays("").isEmpty());
+		//a character that isn't a day, or a repeated day, doesn't fall back to the other days
+		assertEquals(1, catalog.getCoursesByMeetingDays("M").size());
+		assertTrue(catalog.getCoursesByMeetingDays("MX").isEmpty());
+		assertTrue(catalog.getCoursesByMeetingDays("MM").isEmpty());
+		assertTrue(catalog.getCoursesByMeetingDays("MWW").isEmpty());
+		assertTrue(catalog.getCoursesByMeetingDays("AM").isEmpty());
+		
+		assertEquals(4, catalog.getCoursesByCredits(1).size());
+		assertEquals(9, catalog.getCoursesByCredits(3).size());
+		assertTrue(catalog.getCoursesByCredits(4).isEmpty());
+		
+		//combined filters
+		assertEquals(13, catalog.filter(null, null, 0).size());
+		assertEquals(4, catalog.filter("sesmith5", null, 1).size());
+		ArrayList<Course> result = catalog.filter("sesmith5", "A", 0);
+		assertEquals(1, result.size());
+		assertEquals("CSC 217", result.get(0).getName());
+		assertEquals(1, catalog.filter(null, "TH", 3).stream().filter(c -> "sesmith5".equals(c.getInstructorId())).count());
+		assertTrue(catalog.filter("sesmith5", "MWF", 0).isEmpty());
+		assertTrue(catalog.filter("sesmith5", "MX", 0).isEmpty());
+		assertTrue(catalog.filter(null, "MM", 0).isEmpty());
+		assertTrue(catalog.filter(null, "m", 1).isEmpty());
+		assertTrue(catalog.filter("jtking", null, 1).isEmpty());
+	}
+
+	/**
+	 * Tests that reloading keeps the objects of unchanged courses.
+	 * @throws IOException if the catalog file cannot be written
+	 */
+	@Test
+	public void testReload() throws IOException {
+		Path file = Files.createTempFile("catalog", ".txt");
+		List<String> lines = Files.readAllLines(Paths.get(validTestFile));
+		Files.write(file, lines);
+		CourseCatalog catalog = CourseCatalog.load(file.toString());
+		assertSame(catalog, catalog.reload(file.toString()));
+
+		ArrayList<String> updated = new ArrayList<String>(lines);
+		updated.set(0, updated.get(0).replace("jdyoung2", "sesmith5"));
+		Files.write(file, updated);
+		CourseCatalog reloaded = catalog.reload(file.toString());
+		assertNotSame(catalog, reloaded);
+		assertEquals("sesmith5", reloaded.getCourse("CSC 116", "001").getInstructorId());
+		assertEquals("jdyoung2", catalog.getCourse("CSC 116", "001").getInstructorId());
+		assertSame(catalog.getCourse("CSC 216", "001"), reloaded.getCourse("CSC 216", "001"));
+		Files.delete(file);
+		Files.delete(Paths.get(file + CourseCatalog.SNAPSHOT_SUFFIX));
+	}
+
+	/**
+	 * Tests that a reload rebuilds only the index lists holding a changed course and shares
+	 * the rest with the old catalog, and that the indexes match a catalog built from scratch,
+	 * also when the file is reordered.
+	 * @throws IOException if the catalog file cannot be written
+	 */
+	@Test
+	public void testReloadSharesLists() throws IOException {
+		Path file = Files.createTempFile("catalog", ".txt");
+		try {
+			List<String> lines = Files.readAllLines(Paths.get(validTestFile));
+			Files.write(file, lines);
+			CourseCatalog catalog = CourseCatalog.load(file.toString());
+			ArrayList<String> updated = new ArrayList<String>(lines);
+			updated.set(0, updated.get(0).replace("jdyoung2", "sesmith5"));
+			Files.write(file, updated);
+			CourseCatalog reloaded = catalog.reload(file.toString());
+
+			Course changed = reloaded.getCourse("CSC 116", "001");
+			Object[][] touched = {{"CSC 116"}, {"jdyoung2", "sesmith5"},
+					{changed.getMeetingDayMask()}, {changed.getCredits()}};
+			List<HashMap<?, ArrayList<Course>>> before = catalog.indexes();
+			List<HashMap<?, ArrayList<Course>>> after = reloaded.indexes();
+			List<HashMap<?, ArrayList<Course>>> rebuilt = new CourseCatalog(reloaded.getCourses()).indexes();
+			for (int i = 0; i < after.size(); i++) {
+				assertEquals(rebuilt.get(i), after.get(i));
+				List<Object> keys = Arrays.asList(touched[i]);
+				for (Object key : after.get(i).keySet()) {
+					if (keys.contains(key)) {
+						assertNotSame(before.get(i).get(key), after.get(i).get(key));
+					} else {
+						assertSame(before.get(i).get(key), after.get(i).get(key));
+					}
+				}
+			}
+			assertSame(catalog.indexes().get(0).get("CSC 216"), reloaded.indexes().get(0).get("CSC 216"));
+
+			//a reordered file still gives the same indexes as a fresh catalog
+			Collections.reverse(updated);
+			int last = updated.size() - 1;
+			updated.set(last, updated.get(last).replace("sesmith5", "jdyoung2"));
+			Files.write(file, updated);
+			CourseCatalog reordered = reloaded.reload(file.toString());
+			assertNotSame(reloaded, reordered);
+			assertEquals("CSC 116", reordered.get(reordered.size() - 1).getName());
+			assertEquals(new CourseCatalog(reordered.getCourses()).indexes(), reordered.indexes());
+			assertEquals(13, reordered.size());
+		} finally {
+			Files.delete(file);
+			Files.deleteIfExists(Paths.get(file + CourseCatalog.SNAPSHOT_SUFFIX));
+		}
+	}
+
+	/**
+	 * Tests that loading reads the snapshot next to a catalog file while it matches the
+	 * file, and reads the text and writes a new snapshot once it doesn't.
+	 * @throws IOException if the files cannot be written
+	 */
+	@Test
+	public void testLoadSnapshot() throws IOException {
+		Path file = Files.createTempFile("catalog", ".txt");
+		Path snapshot = Paths.get(file + CourseCatalog.SNAPSHOT_SUFFIX);
+		try {
+			List<String> lines = Files.readAllLines(Paths.get(validTestFile));
+			Files.write(file, lines);
+			assertEquals(13, CourseCatalog.load(file.toString()).size());
+			assertTrue(Files.exists(snapshot));
+
+			//a snapshot that matches the file is used instead of the text
+			ArrayList<Course> firstTwo = new ArrayList<Course>(CourseCatalog.load(file.toString()).getCourses().subList(0, 2));
+			CatalogSnapshotWriter.writeSnapshot(snapshot.toString(), file.toString(), firstTwo);
+			assertEquals(2, CourseCatalog.load(file.toString()).size());
+
+			//once the file changes, the text is read and the snapshot replaced
+			ArrayList<String> updated = new ArrayList<String>(lines);
+			updated.set(0, updated.get(0).replace("jdyoung2", "sesmith5"));
+			Files.write(file, updated);
+			CourseCatalog changed = CourseCatalog.load(file.toString());
+			assertEquals(13, changed.size());
+			assertEquals("sesmith5", changed.getCourse("CSC 116", "001").getInstructorId());
+			assertEquals(13, CatalogSnapshotReader.readSnapshot(snapshot.toString(), file.toString()).size());
+
+			//a damaged snapshot is ignored
+			Files.write(snapshot, new byte[] {1, 2, 3});
+			assertEquals(13, CourseCatalog.load(file.toString()).size());
+		} finally {
+			Files.delete(file);
+			Files.deleteIfExists(snapshot);
+		}
+	}
+
+	/**
+	 * Tests that sessions share one catalog but keep their own schedules, and that a new
+	 * session holds nothing that grows with the catalog: its only reference into the catalog
+	 * is the shared CourseCatalog, and its collections start out empty.
+	 * @throws IllegalAccessException if a session field cannot be read
+	 */
+	@Test
+	public void testSharedSessions() throws IllegalAccessException {
+		CourseCatalog catalog = CourseCatalog.load(validTestFile);
+		WolfScheduler first = new WolfScheduler(catalog);
+		WolfScheduler second = new WolfScheduler(catalog);
+		assertSame(catalog, first.getCatalog());
+		assertTrue(first.addCourseToSchedule("CSC 216", "001"));
+		assertTrue(second.addCourseToSchedule("CSC 216", "002"));
+		assertEquals("001", first.getScheduledActivities()[0][1]);
+		assertEquals("002", second.getScheduledActivities()[0][1]);
+		assertThrows(IllegalArgumentException.class, () -> new WolfScheduler((CourseCatalog) null));
+
+		WolfScheduler fresh = new WolfScheduler(catalog);
+		for (Field field : WolfScheduler.class.getDeclaredFields()) {
+			if (Modifier.isStatic(field.getModifiers())) {
+				continue;
+			}
+			field.setAccessible(true);
+			Object value = field.get(fresh);
+			String name = field.getName();
+			assertFalse(field.getType().isArray(), name);
+			assertFalse(value instanceof Map, name);
+			if (value instanceof CourseCatalog) {
+				assertSame(catalog, value, name);
+			} else if (value instanceof Collection) {
+				assertTrue(((Collection<?>) value).isEmpty(), name);
+			}
+		}
+	}
+
+	/**
+	 * Tests that switching sessions to a new catalog fixes their schedules.
+	 */
+	@Test
+	public void testSetCatalog() {
+		CourseCatalog catalog = CourseCatalog.load(validTestFile);
+		WolfScheduler ws = new WolfScheduler(catalog);
+		assertTrue(ws.addCourseToSchedule("CSC 216", "001"));
+		assertTrue(ws.addCourseToSchedule("CSC 116", "003"));
+		ws.addEventToSchedule("Lunch", "MWF", 1200, 1300, "Food");
+
+		ArrayList<Course> courses = new ArrayList<Course>(catalog.getCourses());
+		courses.remove(catalog.getCourse("CSC 216", "001"));
+		courses.set(courses.indexOf(catalog.getCourse("CSC 116", "003")),
+				new Course("CSC 116", "Intro to Programming - Java", "003", 3, "tbdimitr", "MW", 1200, 1300));
+		ws.setCatalog(new CourseCatalog(courses));
+		String[][] schedule = ws.getFullScheduledActivities();
+		assertEquals(2, schedule.length);
+		assertEquals("MW 12:00PM-1:00PM", schedule[0][5]);
+		assertEquals("Lunch", schedule[1][2]);
+		//the changed course now conflicts with lunch, and the conflict engine knows it moved
+		assertEquals(1, ws.getConflictingActivities(ws.getCourseFromCatalog("CSC 116", "003")).size());
+		//the removed course's time is free again
+		assertTrue(ws.addCourseToSchedule("CSC 216", "002"));
+	}
+}
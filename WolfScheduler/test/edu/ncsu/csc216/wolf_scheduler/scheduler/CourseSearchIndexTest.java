@@ -0,0 +1,106 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests prefix search over the catalog.
+ * @author David Mond
+ */
+public class CourseSearchIndexTest {
+
+	/** Catalog searched by the tests */
+	private final CourseCatalog catalog = CourseCatalog.load("test-files/starter_course_records.txt");
+
+	/**
+	 * Tests matching on names, titles, and words inside them without regard to case.
+	 */
+	@Test
+	public void testSearch() {
+		assertEquals(3, catalog.search("csc 216", 10).size());
+		assertEquals(3, catalog.search("216", 10).size());
+		assertEquals(3, catalog.search("  216 ", 10).size());
+		assertEquals(9, catalog.search("CSC 2", 10).size());
+		assertEquals(3, catalog.search("java", 10).size());
+		assertEquals(7, catalog.search("fund", 10).size());
+		assertEquals(7, catalog.search("Software Dev", 10).size());
+		//"C and Software Tools" has software as its third word
+		assertEquals(8, catalog.search("SOFTWARE", 10).size());
+
+		ArrayList<Course> result = catalog.search("data st", 10);
+		assertEquals(1, result.size());
+		assertEquals("CSC 316", result.get(0).getName());
+
+		//only the start of a word matches
+		assertTrue(catalog.search("ata", 10).isEmpty());
+		assertTrue(catalog.search("csc 999", 10).isEmpty());
+		assertTrue(catalog.search("", 10).isEmpty());
+		assertTrue(catalog.search("java", 0).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> catalog.search(null, 10));
+		assertThrows(IllegalArgumentException.class, () -> catalog.search("csc", -1));
+	}
+
+	/**
+	 * Tests that results come back in catalog order, without repeats, up to the limit,
+	 * including limits above what each node caches.
+	 */
+	@Test
+	public void testLimit() {
+		ArrayList<Course> first = catalog.search("c", 3);
+		assertEquals(3, first.size());
+		assertSame(catalog.get(0), first.get(0));
+		assertSame(catalog.get(2), first.get(2));
+
+		assertEquals(CourseSearchIndex.CACHED_MATCHES, catalog.search("c", CourseSearchIndex.CACHED_MATCHES).size());
+		ArrayList<Course> more = catalog.search("c", 12);
+		assertEquals(12, more.size());
+		ArrayList<Course> all = catalog.search("c", 100);
+		assertEquals(13, all.size());
+		for (int i = 0; i < all.size(); i++) {
+			assertSame(catalog.get(i), all.get(i));
+		}
+	}
+
+	/**
+	 * Tests that the tree shares the keys courses have in common.
+	 */
+	@Test
+	public void testShared() {
+		ArrayList<Course> copies = new ArrayList<Course>();
+		for (int i = 0; i < 500; i++) {
+			copies.add(new Course("CSC 216", "Software Development Fundamentals", String.format("%03d", i + 1), 3, "sesmith5", "A"));
+		}
+		CourseSearchIndex index = new CourseSearchIndex(copies);
+		CourseSearchIndex single = new CourseSearchIndex(copies.subList(0, 1));
+		assertEquals(single.getNodeCount(), index.getNodeCount());
+		assertEquals(500, index.search("fundamentals", 1000).length);
+		assertArrayEquals(new int[] {0, 1}, index.search("216", 2));
+	}
+
+	/**
+	 * Tests prefixes that stop part way along an edge and keys that end where longer keys
+	 * carry on.
+	 */
+	@Test
+	public void testPartialKeys() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 116", "Java Programming", "001", 3, "sesmith5", "A"));
+		courses.add(new Course("CSC 342", "JavaScript", "001", 3, "sesmith5", "A"));
+		courses.add(new Course("CSC 216", "Java", "001", 3, "sesmith5", "A"));
+		courses.add(new Course("CSC 217", "Java", "211", 1, "sesmith5", "A"));
+		CourseSearchIndex index = new CourseSearchIndex(courses);
+		assertArrayEquals(new int[] {0, 1, 2, 3}, index.search("ja", 10));
+		assertArrayEquals(new int[] {0, 1, 2, 3}, index.search("JAVA", 10));
+		assertArrayEquals(new int[] {0}, index.search("java p", 10));
+		assertArrayEquals(new int[] {1}, index.search("javas", 10));
+		assertArrayEquals(new int[] {2, 3}, index.search("csc 21", 10));
+		assertArrayEquals(new int[] {2}, index.search("csc 21", 1));
+		assertEquals(0, index.search("javax", 10).length);
+		assertEquals(0, index.search("java programming!", 10).length);
+	}
+}
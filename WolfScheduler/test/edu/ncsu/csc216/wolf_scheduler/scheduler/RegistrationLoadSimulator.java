@@ -0,0 +1,382 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Simulates registration morning: a large number of students, each with their own
+ * WolfScheduler session on one shared generated catalog, adding courses and events, dropping
+ * something, and exporting their schedule. The simulator reports throughput and latency
+ * percentiles for each kind of call.
+ *
+ * Each student runs on its own virtual thread when the JVM has them (Java 21 and later). On
+ * older JVMs the students share a fixed pool of platform threads instead, which still drives
+ * the scheduler concurrently but can't have hundreds of thousands of students in flight.
+ *
+ * It is a load test driver, so it lives with the tests rather than in the application. Run
+ * it from the test classpath with:
+ * java edu.ncsu.csc216.wolf_scheduler.scheduler.RegistrationLoadSimulator
+ * [students] [courses in catalog] [export percent]
+ *
+ * @author David Mond
+ */
+public class RegistrationLoadSimulator {
+	/** Index of addCourseToSchedule() in the latency histograms */
+	public static final int ADD_COURSE = 0;
+	/** Index of addEventToSchedule() in the latency histograms */
+	public static final int ADD_EVENT = 1;
+	/** Index of removeActivityFromSchedule() in the latency histograms */
+	public static final int REMOVE = 2;
+	/** Index of exportSchedule() in the latency histograms */
+	public static final int EXPORT = 3;
+	/** Names of the operations, by index */
+	private static final String[] OPERATIONS = {"addCourseToSchedule", "addEventToSchedule",
+		"removeActivityFromSchedule", "exportSchedule"};
+	/** Meeting day patterns used for generated courses */
+	private static final String[] COURSE_DAYS = {"MW", "TH", "MWF", "MTWHF", "M", "T", "W", "H", "F"};
+	/** Meeting day patterns used for generated events */
+	private static final String[] EVENT_DAYS = {"MWF", "TH", "SU", "U", "S", "MTWHF"};
+
+	/** Number of students to simulate */
+	private final int students;
+	/** Shared catalog every session uses */
+	private final CourseCatalog catalog;
+	/** Percent of students who export their schedule */
+	private final int exportPercent;
+	/** Seed for the students' random choices */
+	private final long seed;
+
+	/**
+	 * Creates a simulator with a generated catalog.
+	 * @param students number of students to simulate
+	 * @param courses number of course sections in the generated catalog
+	 * @param exportPercent percent of students who export their schedule, 0 to 100
+	 * @param seed seed for the catalog and the students' choices
+	 * @throws IllegalArgumentException if a count is out of range
+	 */
+	public RegistrationLoadSimulator(int students, int courses, int exportPercent, long seed) {
+		if (students < 1 || courses < 1 || exportPercent < 0 || exportPercent > 100) {
+			throw new IllegalArgumentException("Invalid simulation settings.");
+		}
+		this.students = students;
+		this.catalog = generateCatalog(courses, new Random(seed));
+		this.exportPercent = exportPercent;
+		this.seed = seed;
+	}
+
+	/**
+	 * Returns the generated catalog.
+	 * @return the catalog
+	 */
+	public CourseCatalog getCatalog() {
+		return catalog;
+	}
+
+	/**
+	 * Generates a catalog of course sections with random days and times between 8:00AM and
+	 * 8:00PM. Sections of one course are numbered 001 up.
+	 * @param courses number of sections to generate
+	 * @param random source of randomness
+	 * @return the catalog
+	 */
+	static CourseCatalog generateCatalog(int courses, Random random) {
+		ArrayList<Course> list = new ArrayList<Course>(courses);
+		for (int i = 0; i < courses; i++) {
+			String name = "CSC " + (100 + i / 5 % 900);
+			String section = String.format("%03d", i / 4500 * 5 + i % 5 + 1);
+			String days = COURSE_DAYS[random.nextInt(COURSE_DAYS.length)];
+			int start = (8 + random.nextInt(11)) * 100 + random.nextInt(4) * 15;
+			int end = start + 50 + random.nextInt(2) * 25;
+			if (end % 100 > 59) {
+				end += 40;
+			}
+			list.add(new Course(name, "Generated Course " + i / 5, section, 3, "instr" + i % 500, days, start, end));
+		}
+		return new CourseCatalog(list);
+	}
+
+	/**
+	 * Runs the simulation and waits for every student to finish.
+	 * @return throughput and latency report
+	 * @throws IOException if the export directory cannot be made
+	 * @throws InterruptedException if interrupted while waiting for the students
+	 */
+	public Report run() throws IOException, InterruptedException {
+		ExecutorService executor = virtualThreadExecutor();
+		Report report = new Report(students, executor != null);
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+		}
+		Path exportDir = Files.createTempDirectory("wolf_scheduler_load");
+		long start = System.nanoTime();
+		for (int i = 0; i < students; i++) {
+			final int student = i;
+			executor.execute(() -> simulateStudent(student, exportDir, report));
+		}
+		executor.shutdown();
+		executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		report.elapsedNanos = System.nanoTime() - start;
+		try (Stream<Path> files = Files.walk(exportDir)) {
+			files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+		}
+		return report;
+	}
+
+	/**
+	 * Runs one student's registration: tries to add four to six courses, picking another
+	 * section of the same course if one conflicts, adds a couple of events, drops one
+	 * activity, and maybe exports the schedule.
+	 * @param student number of the student
+	 * @param exportDir directory exported schedules are written to
+	 * @param report report the timings go into
+	 */
+	private void simulateStudent(int student, Path exportDir, Report report) {
+		Random random = new Random(seed * 31 + student);
+		try {
+			WolfScheduler ws = new WolfScheduler(catalog);
+			int wanted = 4 + random.nextInt(3);
+			for (int i = 0; i < wanted; i++) {
+				Course pick = catalog.get(random.nextInt(catalog.size()));
+				ArrayList<Course> sections = ws.getSectionsFromCatalog(pick.getName());
+				for (int s = 0; s < sections.size(); s++) {
+					long t = System.nanoTime();
+					try {
+						ws.addCourseToSchedule(pick.getName(), sections.get(s).getSection());
+						report.record(ADD_COURSE, System.nanoTime() - t, true);
+						break;
+					} catch (IllegalArgumentException e) {
+						//conflict or already enrolled, try the next section
+						report.record(ADD_COURSE, System.nanoTime() - t, false);
+					}
+				}
+			}
+			int events = 1 + random.nextInt(2);
+			for (int i = 0; i < events; i++) {
+				int start = (7 + random.nextInt(15)) * 100;
+				long t = System.nanoTime();
+				try {
+					ws.addEventToSchedule("Event " + i, EVENT_DAYS[random.nextInt(EVENT_DAYS.length)], start,
+							start + 45, "Simulated");
+					report.record(ADD_EVENT, System.nanoTime() - t, true);
+				} catch (IllegalArgumentException e) {
+					report.record(ADD_EVENT, System.nanoTime() - t, false);
+				}
+			}
+			long t = System.nanoTime();
+			boolean removed = ws.removeActivityFromSchedule(random.nextInt(wanted));
+			report.record(REMOVE, System.nanoTime() - t, removed);
+			if (random.nextInt(100) < exportPercent) {
+				String file = exportDir.resolve("student" + student + ".txt").toString();
+				t = System.nanoTime();
+				ws.exportSchedule(file);
+				report.record(EXPORT, System.nanoTime() - t, true);
+			}
+		} catch (RuntimeException e) {
+			report.errors.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Returns an executor that starts a virtual thread per task, or null if this JVM has no
+	 * virtual threads. Looked up by reflection so the code still builds and runs on Java 17.
+	 * @return the executor, or null
+	 */
+	private static ExecutorService virtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Runs a simulation from the command line and prints the report.
+	 * @param args number of students, number of courses, and export percent, all optional
+	 * @throws Exception if the simulation fails
+	 */
+	public static void main(String[] args) throws Exception {
+		int students = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		int courses = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+		int exportPercent = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+		System.out.println(new RegistrationLoadSimulator(students, courses, exportPercent, 216).run());
+	}
+
+	/**
+	 * Throughput and latency results of a simulation. Latencies are kept in log-linear
+	 * histograms, so percentiles are accurate to within about 6% without storing every sample.
+	 */
+	public static class Report {
+		/** Sub-buckets per power of two */
+		private static final int SUB_BUCKETS = 16;
+		/** Bits of the sub-bucket index */
+		private static final int SUB_BITS = 4;
+
+		/** Number of students simulated */
+		private final int students;
+		/** Whether the students ran on virtual threads */
+		private final boolean virtualThreads;
+		/** Latency histogram of each operation */
+		private final AtomicLongArray[] histograms = new AtomicLongArray[OPERATIONS.length];
+		/** Calls of each operation that succeeded */
+		private final AtomicLongArray succeeded = new AtomicLongArray(OPERATIONS.length);
+		/** Calls of each operation that were rejected */
+		private final AtomicLongArray rejected = new AtomicLongArray(OPERATIONS.length);
+		/** Slowest call of each operation in nanoseconds */
+		private final AtomicLongArray max = new AtomicLongArray(OPERATIONS.length);
+		/** Students whose run ended with an unexpected exception */
+		private final AtomicLong errors = new AtomicLong();
+		/** Wall clock time of the whole run */
+		private long elapsedNanos;
+
+		/**
+		 * Creates an empty report.
+		 * @param students number of students simulated
+		 * @param virtualThreads whether the students run on virtual threads
+		 */
+		Report(int students, boolean virtualThreads) {
+			this.students = students;
+			this.virtualThreads = virtualThreads;
+			for (int i = 0; i < histograms.length; i++) {
+				histograms[i] = new AtomicLongArray(64 * SUB_BUCKETS);
+			}
+		}
+
+		/**
+		 * Records one call.
+		 * @param operation index of the operation
+		 * @param nanos time the call took
+		 * @param success true if the call succeeded, false if it was rejected
+		 */
+		void record(int operation, long nanos, boolean success) {
+			histograms[operation].incrementAndGet(bucket(nanos));
+			(success ? succeeded : rejected).incrementAndGet(operation);
+			long current = max.get(operation);
+			while (nanos > current && !max.compareAndSet(operation, current, nanos)) {
+				current = max.get(operation);
+			}
+		}
+
+		/**
+		 * Returns the histogram bucket of a latency.
+		 * @param nanos latency in nanoseconds
+		 * @return bucket index
+		 */
+		private static int bucket(long nanos) {
+			long value = Math.max(1, nanos);
+			int exponent = 63 - Long.numberOfLeadingZeros(value);
+			if (exponent < SUB_BITS) {
+				return (int) value;
+			}
+			int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+			return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+		}
+
+		/**
+		 * Returns the upper edge of a histogram bucket.
+		 * @param bucket bucket index
+		 * @return largest latency in the bucket in nanoseconds
+		 */
+		private static long bucketValue(int bucket) {
+			if (bucket < SUB_BUCKETS) {
+				return bucket;
+			}
+			int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+			long base = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BITS);
+			return base + (1L << (exponent - SUB_BITS)) - 1;
+		}
+
+		/**
+		 * Returns the total number of calls of an operation.
+		 * @param operation index of the operation
+		 * @return number of calls
+		 */
+		public long getCalls(int operation) {
+			return succeeded.get(operation) + rejected.get(operation);
+		}
+
+		/**
+		 * Returns the number of calls of an operation that were rejected, for example because
+		 * of a conflict.
+		 * @param operation index of the operation
+		 * @return number of rejected calls
+		 */
+		public long getRejected(int operation) {
+			return rejected.get(operation);
+		}
+
+		/**
+		 * Returns the number of students whose run ended with an unexpected exception.
+		 * @return number of failed students
+		 */
+		public long getErrors() {
+			return errors.get();
+		}
+
+		/**
+		 * Returns the number of calls per second over the whole run.
+		 * @return throughput in calls per second
+		 */
+		public double getThroughput() {
+			long calls = 0;
+			for (int i = 0; i < OPERATIONS.length; i++) {
+				calls += getCalls(i);
+			}
+			return calls * 1e9 / Math.max(1, elapsedNanos);
+		}
+
+		/**
+		 * Returns a latency percentile of an operation.
+		 * @param operation index of the operation
+		 * @param percentile percentile between 0 and 100
+		 * @return latency in nanoseconds, or 0 if the operation was never called
+		 */
+		public long getPercentile(int operation, double percentile) {
+			long calls = getCalls(operation);
+			if (calls == 0) {
+				return 0;
+			}
+			long rank = Math.max(1, (long) Math.ceil(calls * percentile / 100));
+			AtomicLongArray histogram = histograms[operation];
+			long seen = 0;
+			for (int b = 0; b < histogram.length(); b++) {
+				seen += histogram.get(b);
+				if (seen >= rank) {
+					return Math.min(bucketValue(b), max.get(operation));
+				}
+			}
+			return max.get(operation);
+		}
+
+		/**
+		 * Returns the report as a table with one row per operation.
+		 * @return the report
+		 */
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			sb.append(String.format("%d students on %s in %.2f s, %.0f calls/s, %d errors%n", students,
+					virtualThreads ? "virtual threads" : "a platform thread pool", elapsedNanos / 1e9, getThroughput(),
+					getErrors()));
+			sb.append(String.format("%-27s %9s %9s %9s %9s %9s %9s %9s%n", "operation (us)", "calls", "rejected", "p50",
+					"p90", "p99", "p99.9", "max"));
+			for (int i = 0; i < OPERATIONS.length; i++) {
+				sb.append(String.format("%-27s %9d %9d %9.1f %9.1f %9.1f %9.1f %9.1f%n", OPERATIONS[i], getCalls(i),
+						getRejected(i), getPercentile(i, 50) / 1e3, getPercentile(i, 90) / 1e3,
+						getPercentile(i, 99) / 1e3, getPercentile(i, 99.9) / 1e3, max.get(i) / 1e3));
+			}
+			return sb.toString();
+		}
+	}
+}
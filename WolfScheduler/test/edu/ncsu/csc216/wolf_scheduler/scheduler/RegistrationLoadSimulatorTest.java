@@ -0,0 +1,43 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the RegistrationLoadSimulator class.
+ * @author David Mond
+ */
+public class RegistrationLoadSimulatorTest {
+
+	/**
+	 * Tests a small simulation and checks its report.
+	 * @throws Exception if the simulation fails
+	 */
+	@Test
+	public void testRun() throws Exception {
+		RegistrationLoadSimulator simulator = new RegistrationLoadSimulator(5000, 2000, 10, 216);
+		assertEquals(2000, simulator.getCatalog().size());
+		RegistrationLoadSimulator.Report report = simulator.run();
+
+		assertEquals(0, report.getErrors());
+		assertEquals(5000, report.getCalls(RegistrationLoadSimulator.REMOVE));
+		assertTrue(report.getCalls(RegistrationLoadSimulator.ADD_COURSE) >= 5000 * 4);
+		assertTrue(report.getRejected(RegistrationLoadSimulator.ADD_COURSE) > 0);
+		assertTrue(report.getCalls(RegistrationLoadSimulator.ADD_EVENT) > 0);
+		assertTrue(report.getCalls(RegistrationLoadSimulator.EXPORT) > 0);
+		//about 10% of the students export
+		assertTrue(report.getCalls(RegistrationLoadSimulator.EXPORT) < 5000 / 5);
+		//a drop only misses when the student got fewer activities than the index picked
+		assertTrue(report.getRejected(RegistrationLoadSimulator.REMOVE) < 5000 / 10);
+		assertTrue(report.toString().contains("addCourseToSchedule"));
+		assertTrue(report.getThroughput() > 0);
+		for (int op = RegistrationLoadSimulator.ADD_COURSE; op <= RegistrationLoadSimulator.EXPORT; op++) {
+			assertTrue(report.getPercentile(op, 50) <= report.getPercentile(op, 99));
+			assertTrue(report.getPercentile(op, 99) <= report.getPercentile(op, 100));
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> new RegistrationLoadSimulator(0, 10, 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new RegistrationLoadSimulator(10, 10, 101, 1));
+	}
+}
@@ -0,0 +1,175 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the ScheduleGenerator class.
+ * @author David Mond
+ */
+public class ScheduleGeneratorTest {
+
+	/** Catalog the schedules are generated from */
+	private final CourseCatalog catalog = CourseCatalog.load("test-files/starter_course_records.txt");
+	/** Wishlist used by most tests */
+	private final List<String> wishlist = Arrays.asList("CSC 116", "CSC 216", "CSC 217");
+
+	/**
+	 * Tests that every schedule is found once, in wishlist order, and free of conflicts.
+	 */
+	@Test
+	public void testGenerate() {
+		ScheduleGenerator generator = new ScheduleGenerator(catalog, wishlist);
+		//3 * 3 * 4 combinations, less the 6 where CSC 217 202 overlaps CSC 116 001 or 002
+		assertEquals(30, generator.count());
+
+		HashSet<List<Course>> found = new HashSet<List<Course>>();
+		try (ScheduleGenerator.Schedules schedules = generator.open()) {
+			while (schedules.hasNext()) {
+				ArrayList<Course> schedule = schedules.next();
+				assertEquals(3, schedule.size());
+				for (int i = 0; i < schedule.size(); i++) {
+					assertEquals(wishlist.get(i), schedule.get(i).getName());
+					for (int j = i + 1; j < schedule.size(); j++) {
+						assertFalse(schedule.get(i).conflictsWith(schedule.get(j)));
+					}
+				}
+				assertTrue(found.add(schedule));
+			}
+		}
+		assertEquals(30, found.size());
+	}
+
+	/**
+	 * Tests that sections conflicting with the fixed activities are left out.
+	 */
+	@Test
+	public void testFixed() {
+		ArrayList<Activity> fixed = new ArrayList<Activity>();
+		fixed.add(new Event("Lunch", "MWF", 1200, 1300, "Food"));
+		//lunch rules out CSC 116 002 and CSC 217 202
+		ScheduleGenerator generator = new ScheduleGenerator(catalog, wishlist, fixed);
+		assertEquals(18, generator.count());
+		try (Stream<ArrayList<Course>> schedules = generator.stream()) {
+			assertEquals(18, schedules.filter(s -> !"002".equals(s.get(0).getSection())).count());
+		}
+
+		fixed.add(new Event("Nap", "MTWHF", 800, 1700, "Sleep"));
+		assertEquals(0, new ScheduleGenerator(catalog, wishlist, fixed).count());
+		try (ScheduleGenerator.Schedules schedules = new ScheduleGenerator(catalog, wishlist, fixed).open()) {
+			assertFalse(schedules.hasNext());
+		}
+	}
+
+	/**
+	 * Tests that bad wishlists are rejected.
+	 */
+	@Test
+	public void testInvalid() {
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> new ScheduleGenerator(catalog, Arrays.asList("CSC 216", "CSC 492")));
+		assertEquals("CSC 492 is not in the catalog.", e.getMessage());
+		e = assertThrows(IllegalArgumentException.class,
+				() -> new ScheduleGenerator(catalog, Arrays.asList("CSC 216", "CSC 216")));
+		assertEquals("CSC 216 is listed more than once.", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> new ScheduleGenerator(catalog, new ArrayList<String>()));
+	}
+
+	/**
+	 * Tests a wishlist with more schedules than the queue holds, and stopping a search early.
+	 */
+	@Test
+	public void testLargeWishlist() {
+		CourseCatalog generated = RegistrationLoadSimulator.generateCatalog(2000, new Random(216));
+		List<String> names = new ArrayList<String>();
+		for (int i = 0; i < 7; i++) {
+			names.add("CSC " + (100 + i * 37));
+		}
+		ScheduleGenerator generator = new ScheduleGenerator(generated, names);
+		long count = generator.count();
+		assertTrue(count > ScheduleGenerator.QUEUE_CAPACITY);
+		assertTrue(count < 78125);
+		try (Stream<ArrayList<Course>> schedules = generator.stream()) {
+			assertEquals(count, schedules.map(s -> s.stream().map(Course::getSection).collect(Collectors.joining())).distinct().count());
+		}
+
+		//searches stopped early don't hold on to threads, so this doesn't pile up workers
+		int threads = Thread.activeCount();
+		for (int round = 0; round < 20; round++) {
+			ScheduleGenerator.Schedules first = generator.open();
+			for (int i = 0; i < 5; i++) {
+				assertEquals(7, first.next().size());
+			}
+			first.close();
+			assertFalse(first.hasNext());
+		}
+		assertEquals(count, generator.count());
+		//the shared pool may keep a few spare workers, but not a pool's worth per search
+		assertTrue(Thread.activeCount() < threads + 20);
+	}
+
+	/**
+	 * Tests that searches nobody reads from give their threads back to the pool instead of
+	 * making it add more, and pick up where they stopped once they are read.
+	 * @throws InterruptedException if interrupted while the searches fill their queues
+	 */
+	@Test
+	public void testUnreadSearches() throws InterruptedException {
+		CourseCatalog generated = RegistrationLoadSimulator.generateCatalog(2000, new Random(216));
+		List<String> names = new ArrayList<String>();
+		for (int i = 0; i < 7; i++) {
+			names.add("CSC " + (100 + i * 37));
+		}
+		ScheduleGenerator generator = new ScheduleGenerator(generated, names);
+		long count = generator.count();
+		int threads = Thread.activeCount();
+		List<ScheduleGenerator.Schedules> open = new ArrayList<ScheduleGenerator.Schedules>();
+		for (int i = 0; i < 5; i++) {
+			open.add(generator.open());
+		}
+		//long enough for every search to fill its queue
+		Thread.sleep(500);
+		assertTrue(Thread.activeCount() <= threads + Runtime.getRuntime().availableProcessors(),
+				Thread.activeCount() + " threads, " + threads + " before the searches");
+		for (ScheduleGenerator.Schedules schedules : open) {
+			long found = 0;
+			while (schedules.hasNext()) {
+				assertEquals(7, schedules.next().size());
+				found++;
+			}
+			assertEquals(count, found);
+			schedules.close();
+		}
+	}
+
+	/**
+	 * Tests generating schedules around a session's schedule.
+	 */
+	@Test
+	public void testWolfScheduler() {
+		WolfScheduler ws = new WolfScheduler(catalog);
+		ws.addEventToSchedule("Lunch", "MWF", 1200, 1300, "Food");
+		assertTrue(ws.addCourseToSchedule("CSC 116", "003"));
+		assertTrue(ws.addCourseToSchedule("CSC 316", "001"));
+		//CSC 116 is on the wishlist, so only lunch and CSC 316 are held fixed, which leaves
+		//CSC 116 003 with three sections each of CSC 216 and CSC 217
+		ScheduleGenerator generator = ws.generateSchedules(new ArrayList<String>(wishlist));
+		assertEquals(9, generator.count());
+		try (Stream<ArrayList<Course>> schedules = generator.stream()) {
+			schedules.forEach(schedule -> assertEquals("003", schedule.get(0).getSection()));
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Stress tests a single WolfScheduler used from many threads at once.
+ * @author David Mond
+ */
+public class WolfSchedulerConcurrencyTest {
+
+	/** Number of threads changing the schedule */
+	private static final int WRITERS = 8;
+	/** Number of events each writer adds */
+	private static final int EVENTS_PER_WRITER = 400;
+	/** Meeting day of each day index */
+	private static final String[] DAYS = {"U", "M", "T", "W", "H", "F", "S"};
+
+	/**
+	 * Tests that concurrent adds and removes lose no updates while other threads read the
+	 * schedule and swap the catalog.
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testConcurrentAddsAndRemoves() throws Exception {
+		CourseCatalog catalog = CourseCatalog.load("test-files/starter_course_records.txt");
+		WolfScheduler ws = new WolfScheduler(catalog);
+		ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 2);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean done = new AtomicBoolean(false);
+		AtomicInteger reads = new AtomicInteger();
+
+		//readers check that every row they see is whole
+		List<Future<?>> readers = new ArrayList<Future<?>>();
+		readers.add(pool.submit(() -> {
+			start.await();
+			while (!done.get()) {
+				String[][] rows = ws.getFullScheduledActivities();
+				for (String[] row : rows) {
+					assertNotNull(row);
+					assertEquals(7, row.length);
+					assertNotNull(row[2]);
+				}
+				reads.incrementAndGet();
+			}
+			return null;
+		}));
+		readers.add(pool.submit(() -> {
+			start.await();
+			while (!done.get()) {
+				//swapping in an equal catalog must never drop anything from the schedule
+				ws.setCatalog(new CourseCatalog(catalog.getCourses()));
+				assertEquals(13, ws.getCourseCatalog().length);
+			}
+			return null;
+		}));
+
+		List<Future<Integer>> writers = new ArrayList<Future<Integer>>();
+		for (int w = 0; w < WRITERS; w++) {
+			final int writer = w;
+			writers.add(pool.submit((Callable<Integer>) () -> {
+				start.await();
+				for (int i = 0; i < EVENTS_PER_WRITER; i++) {
+					//every event gets its own minute, so none of them conflict
+					int slot = writer * EVENTS_PER_WRITER + i;
+					int minute = slot / DAYS.length;
+					int time = minute / 60 * 100 + minute % 60;
+					ws.addEventToSchedule("Event " + slot, DAYS[slot % DAYS.length], time, time, "Stress");
+				}
+				return EVENTS_PER_WRITER;
+			}));
+		}
+		start.countDown();
+		int added = 0;
+		for (Future<Integer> f : writers) {
+			added += f.get(60, TimeUnit.SECONDS);
+		}
+		assertTrue(ws.addCourseToSchedule("CSC 216", "601"));
+		String[][] schedule = ws.getScheduledActivities();
+		assertEquals(added + 1, schedule.length);
+		HashSet<String> titles = new HashSet<String>();
+		for (String[] row : schedule) {
+			titles.add(row[2]);
+		}
+		assertEquals(added + 1, titles.size());
+
+		//remove everything from several threads at once; each remove must take exactly one
+		AtomicInteger removed = new AtomicInteger();
+		List<Future<?>> removers = new ArrayList<Future<?>>();
+		for (int w = 0; w < WRITERS; w++) {
+			removers.add(pool.submit(() -> {
+				while (ws.removeActivityFromSchedule(0)) {
+					removed.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+		for (Future<?> f : removers) {
+			f.get(60, TimeUnit.SECONDS);
+		}
+		done.set(true);
+		for (Future<?> f : readers) {
+			f.get(60, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+		assertEquals(added + 1, removed.get());
+		assertEquals(0, ws.getScheduledActivities().length);
+		assertTrue(reads.get() > 0);
+	}
+
+	/**
+	 * Tests that when many threads add the same course or event, exactly one of them wins.
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testRacingDuplicates() throws Exception {
+		WolfScheduler ws = new WolfScheduler(CourseCatalog.load("test-files/starter_course_records.txt"));
+		ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger courseWins = new AtomicInteger();
+		AtomicInteger eventWins = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		for (int w = 0; w < WRITERS; w++) {
+			final String section = w % 2 == 0 ? "001" : "002";
+			futures.add(pool.submit(() -> {
+				start.await();
+				try {
+					ws.addCourseToSchedule("CSC 216", section);
+					courseWins.incrementAndGet();
+				} catch (IllegalArgumentException e) {
+					//already enrolled
+				}
+				try {
+					ws.addEventToSchedule("Lunch", "U", 1200, 1300, "Food");
+					eventWins.incrementAndGet();
+				} catch (IllegalArgumentException e) {
+					//already created
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> f : futures) {
+			f.get(60, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+		assertEquals(1, courseWins.get());
+		assertEquals(1, eventWins.get());
+		assertEquals(2, ws.getScheduledActivities().length);
+		Course scheduled = ws.getCourseFromCatalog("CSC 216", ws.getScheduledActivities()[0][1]);
+		assertNotNull(scheduled);
+	}
+}
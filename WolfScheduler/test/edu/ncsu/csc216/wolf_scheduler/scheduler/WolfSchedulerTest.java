@@ -10,6 +10,8 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
@@ -103,6 +105,100 @@ public class WolfSchedulerTest {
 		//Attempt to get a course that does exist
 		Activity c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
 		assertEquals(c, ws.getCourseFromCatalog("CSC 216", "001"));
+		
+		//Name and section must both match, and the first of a duplicated pair is kept
+		assertNull(ws.getCourseFromCatalog("CSC 216", "003"));
+		assertNull(ws.getCourseFromCatalog("CSC 21", "6001"));
+		assertEquals("spbalik", ws.getCourseFromCatalog("CSC 116", "002").getInstructorId());
+	}
+	
+	/**
+	 * Test WolfScheduler.getSectionsFromCatalog().
+	 */
+	@Test
+	public void testGetSectionsFromCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		//Attempt to get sections of a course that doesn't exist
+		assertTrue(ws.getSectionsFromCatalog("CSC 492").isEmpty());
+		assertTrue(ws.getSectionsFromCatalog("CSC 21").isEmpty());
+		
+		//All sections in order, with the first of a duplicated pair kept
+		ArrayList<Course> sections = ws.getSectionsFromCatalog(NAME);
+		assertEquals(3, sections.size());
+		assertEquals("001", sections.get(0).getSection());
+		assertEquals("002", sections.get(1).getSection());
+		assertEquals("601", sections.get(2).getSection());
+		assertSame(ws.getCourseFromCatalog(NAME, "002"), sections.get(1));
+		sections = ws.getSectionsFromCatalog("CSC 116");
+		assertEquals(3, sections.size());
+		assertEquals("spbalik", sections.get(1).getInstructorId());
+		
+		//Changing the returned list doesn't change the catalog
+		sections.clear();
+		assertEquals(3, ws.getSectionsFromCatalog("CSC 116").size());
+	}
+	
+	/**
+	 * Test WolfScheduler.getFilteredCatalog().
+	 */
+	@Test
+	public void testGetFilteredCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		assertEquals(13, ws.getFilteredCatalog(null, null, 0).length);
+		assertEquals(0, ws.getFilteredCatalog("nobody", null, 0).length);
+		
+		String[][] catalog = ws.getFilteredCatalog(null, "TH", 0);
+		assertEquals(2, catalog.length);
+		assertEquals("CSC 116", catalog[0][0]);
+		assertEquals("003", catalog[0][1]);
+		assertEquals(NAME, catalog[1][0]);
+		assertEquals("TH 1:30PM-2:45PM", catalog[1][3]);
+		
+		catalog = ws.getFilteredCatalog("sesmith5", null, 1);
+		assertEquals(4, catalog.length);
+		assertEquals("Software Development Fundamentals Lab", catalog[3][2]);
+		assertEquals("Arranged", catalog[3][3]);
+	}
+	
+	/**
+	 * Test WolfScheduler.getCatalogSize() and getCatalogRows().
+	 */
+	@Test
+	public void testGetCatalogRows() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertEquals(13, ws.getCatalogSize());
+		String[][] all = ws.getCourseCatalog();
+		
+		String[][] page = ws.getCatalogRows(4, 3);
+		assertEquals(3, page.length);
+		for (int i = 0; i < page.length; i++) {
+			assertArrayEquals(all[4 + i], page[i]);
+		}
+		//the last page is cut short
+		assertEquals(2, ws.getCatalogRows(11, 5).length);
+		assertEquals(0, ws.getCatalogRows(13, 5).length);
+		assertEquals(0, ws.getCatalogRows(2, 0).length);
+		assertEquals(1, ws.getCatalogRows(12, Integer.MAX_VALUE).length);
+		assertThrows(IllegalArgumentException.class, () -> ws.getCatalogRows(-1, 5));
+		assertThrows(IllegalArgumentException.class, () -> ws.getCatalogRows(0, -5));
+	}
+	
+	/**
+	 * Test WolfScheduler.searchCatalog().
+	 */
+	@Test
+	public void testSearchCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		String[][] catalog = ws.searchCatalog("software dev", 2);
+		assertEquals(2, catalog.length);
+		assertEquals(NAME, catalog[0][0]);
+		assertEquals("001", catalog[0][1]);
+		assertEquals(TITLE, catalog[0][2]);
+		assertEquals(0, ws.searchCatalog("csc 9", 5).length);
+		assertEquals(13, ws.searchCatalog("csc", 20).length);
 	}
 	
 	/**
@@ -112,6 +208,11 @@ public class WolfSchedulerTest {
 	public void testAddCourseToSchedule() {
 		WolfScheduler ws = new WolfScheduler(validTestFile);
 		
+		//Attempt to add a course to a schedule with an empty catalog
+		WolfScheduler wsEmpty = new WolfScheduler(invalidTestFile);
+		assertFalse(wsEmpty.addCourseToSchedule(NAME, SECTION));
+		assertEquals(0, wsEmpty.getScheduledActivities().length);
+		
 		//Attempt to add a course that doesn't exist
 		assertFalse(ws.addCourseToSchedule("CSC 492", "001"));
 		assertEquals(0, ws.getScheduledActivities().length);
@@ -169,6 +270,36 @@ public class WolfSchedulerTest {
 			assertEquals("You have already created an event called Exercise", e.getMessage());
 		}
 	}
+
+	/**
+	 * Test that conflicting courses and events are not added to the schedule.
+	 */
+	@Test
+	public void testAddConflictingActivity() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+
+		assertTrue(ws.addCourseToSchedule("CSC 116", "002"));
+
+		//CSC 230 001 is MW 11:45AM-1:00PM, inside CSC 116 002 on the same days
+		Exception e1 = assertThrows(IllegalArgumentException.class, () -> ws.addCourseToSchedule("CSC 230", "001"));
+		assertEquals("The course cannot be added due to a conflict with Intro to Programming - Java.", e1.getMessage());
+
+		//An event that starts when the course ends still conflicts
+		Exception e2 = assertThrows(IllegalArgumentException.class,
+				() -> ws.addEventToSchedule("Lunch", "WF", 1310, 1400, "Food"));
+		assertEquals("The event cannot be added due to a conflict with Intro to Programming - Java.", e2.getMessage());
+		assertEquals(1, ws.getScheduledActivities().length);
+
+		//Different days or later times do not conflict
+		ws.addEventToSchedule("Lunch", "TH", 1310, 1400, "Food");
+		ws.addEventToSchedule("Gym", "MW", 1311, 1400, "Lift");
+		assertEquals(3, ws.getScheduledActivities().length);
+
+		//Removing the course frees its time
+		assertTrue(ws.removeActivityFromSchedule(0));
+		assertTrue(ws.addCourseToSchedule("CSC 230", "001"));
+		assertEquals(1, ws.getConflictingActivities(ws.getCourseFromCatalog("CSC 116", "002")).size());
+	}
 	
 	/**
 	 * Test WolfScheduler.removeCourse().
@@ -320,7 +451,7 @@ public class WolfSchedulerTest {
 		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
 		assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
 		ws.addEventToSchedule("Lunch", "MWF", 1200, 1300, "Food");
-		assertTrue(ws.addCourseToSchedule("CSC 116", "002"));
+		assertTrue(ws.addCourseToSchedule("CSC 116", "003"));
 		
 		String [][] schedule = ws.getScheduledActivities();
 		//Row 1
@@ -340,9 +471,9 @@ public class WolfSchedulerTest {
 		assertEquals("MWF 12:00PM-1:00PM", schedule[2][3]);
 		//Row 3
 		assertEquals("CSC 116", schedule[3][0]);
-		assertEquals("002", schedule[3][1]);
+		assertEquals("003", schedule[3][1]);
 		assertEquals("Intro to Programming - Java", schedule[3][2]);
-		assertEquals("MW 11:20AM-1:10PM", schedule[3][3]);
+		assertEquals("TH 11:20AM-1:10PM", schedule[3][3]);
 	}
 	
 	/**
@@ -357,7 +488,7 @@ public class WolfSchedulerTest {
 		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
 		assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
 		ws.addEventToSchedule("Lunch", "MWF", 1200, 1300, "Food");
-		assertTrue(ws.addCourseToSchedule("CSC 116", "002"));
+		assertTrue(ws.addCourseToSchedule("CSC 116", "003"));
 		
 		String [][] schedule = ws.getFullScheduledActivities();
 		//Row 1
@@ -386,11 +517,11 @@ public class WolfSchedulerTest {
 		assertEquals("Food", schedule[2][6]);
 		//Row 3
 		assertEquals("CSC 116", schedule[3][0]);
-		assertEquals("002", schedule[3][1]);
+		assertEquals("003", schedule[3][1]);
 		assertEquals("Intro to Programming - Java", schedule[3][2]);
 		assertEquals("3", schedule[3][3]);
-		assertEquals("spbalik", schedule[3][4]);
-		assertEquals("MW 11:20AM-1:10PM", schedule[3][5]);
+		assertEquals("tbdimitr", schedule[3][4]);
+		assertEquals("TH 11:20AM-1:10PM", schedule[3][5]);
 		assertEquals("", schedule[1][6]);
 	}
 	
@@ -433,6 +564,125 @@ public class WolfSchedulerTest {
 		checkFiles("test-files/expected_schedule_export.txt", "test-files/actual_schedule_export.txt");
 	}
 	
+	/**
+	 * Test WolfScheduler.reloadCatalog().
+	 */
+	@Test
+	public void testReloadCatalog() {
+		try {
+			Path catalogFile = Files.createTempFile("reload_course_records", ".txt");
+			List<String> lines = Files.readAllLines(FileSystems.getDefault().getPath(validTestFile));
+			Files.write(catalogFile, lines);
+			WolfScheduler ws = new WolfScheduler(catalogFile.toString());
+			assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+			assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
+			ws.addEventToSchedule(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+			assertTrue(ws.addCourseToSchedule("CSC 116", "003"));
+			Course unchanged = ws.getCourseFromCatalog("CSC 116", "003");
+			
+			//Nothing changed
+			CatalogDelta delta = ws.reloadCatalog(catalogFile.toString());
+			assertTrue(delta.isEmpty());
+			assertSame(unchanged, ws.getCourseFromCatalog("CSC 116", "003"));
+			
+			//Remove CSC 226 001, change the instructor of CSC 216 001, and add CSC 492 001
+			ArrayList<String> updated = new ArrayList<String>();
+			for (String line : lines) {
+				if (line.startsWith("CSC 226,")) {
+					continue;
+				}
+				updated.add(line.replace("sesmith5,TH", "jdyoung2,TH"));
+			}
+			updated.add("CSC 492,Senior Design,001,3,jtking,MW,1500,1615");
+			Files.write(catalogFile, updated);
+			delta = ws.reloadCatalog(catalogFile.toString());
+			assertEquals(1, delta.getAdded().size());
+			assertEquals("CSC 492", delta.getAdded().get(0).getName());
+			assertEquals(1, delta.getRemoved().size());
+			assertEquals("CSC 226", delta.getRemoved().get(0).getName());
+			assertEquals(1, delta.getChanged().size());
+			assertEquals("jdyoung2", delta.getChanged().get(0).getInstructorId());
+			
+			//Catalog and index reflect the new file
+			assertEquals(13, ws.getCourseCatalog().length);
+			assertEquals("CSC 492", ws.getCourseCatalog()[12][0]);
+			assertNull(ws.getCourseFromCatalog("CSC 226", "001"));
+			assertEquals("jdyoung2", ws.getCourseFromCatalog(NAME, SECTION).getInstructorId());
+			assertSame(unchanged, ws.getCourseFromCatalog("CSC 116", "003"));
+			assertTrue(ws.getSectionsFromCatalog("CSC 226").isEmpty());
+			assertEquals(1, ws.getSectionsFromCatalog("CSC 492").size());
+			assertEquals("jdyoung2", ws.getSectionsFromCatalog(NAME).get(0).getInstructorId());
+			
+			//Schedule dropped the removed course and holds the new version of the changed one
+			String[][] schedule = ws.getFullScheduledActivities();
+			assertEquals(3, schedule.length);
+			assertEquals(NAME, schedule[0][0]);
+			assertEquals("jdyoung2", schedule[0][4]);
+			assertEquals(EVENT_TITLE, schedule[1][2]);
+			assertEquals("CSC 116", schedule[2][0]);
+			assertTrue(ws.addCourseToSchedule("CSC 492", "001"));
+			
+			Files.delete(catalogFile);
+			Files.deleteIfExists(catalogFile.resolveSibling(catalogFile.getFileName() + CourseCatalog.SNAPSHOT_SUFFIX));
+			assertThrows(IllegalArgumentException.class, () -> ws.reloadCatalog(catalogFile.toString()));
+			assertEquals(4, ws.getScheduledActivities().length);
+		} catch (IOException e) {
+			fail("Unable to write catalog file");
+		}
+	}
+	
+	/**
+	 * Tests that listeners hear about each change to the schedule, in order, with the row
+	 * it changed.
+	 */
+	@Test
+	public void testScheduleListener() {
+		CourseCatalog catalog = CourseCatalog.load("test-files/starter_course_records.txt");
+		WolfScheduler ws = new WolfScheduler(catalog);
+		ArrayList<ScheduleEvent> events = new ArrayList<ScheduleEvent>();
+		ScheduleListener listener = events::add;
+		ws.addScheduleListener(listener);
+		assertThrows(IllegalArgumentException.class, () -> ws.addScheduleListener(null));
+		
+		assertTrue(ws.addCourseToSchedule("CSC 216", "001"));
+		assertTrue(ws.addCourseToSchedule("CSC 116", "003"));
+		ws.addEventToSchedule("Lunch", "MWF", 1200, 1300, "Food");
+		assertEquals(3, events.size());
+		assertEquals(ScheduleEvent.Type.INSERTED, events.get(2).getType());
+		assertEquals(2, events.get(2).getIndex());
+		assertEquals("Lunch", events.get(2).getActivity().getTitle());
+		assertSame(ws, events.get(2).getSource());
+		
+		//failed changes send nothing
+		assertThrows(IllegalArgumentException.class, () -> ws.addCourseToSchedule("CSC 216", "002"));
+		assertFalse(ws.removeActivityFromSchedule(5));
+		assertEquals(3, events.size());
+		
+		assertTrue(ws.removeActivityFromSchedule(1));
+		assertEquals(ScheduleEvent.Type.REMOVED, events.get(3).getType());
+		assertEquals(1, events.get(3).getIndex());
+		assertEquals("CSC 116", ((Course) events.get(3).getActivity()).getName());
+		
+		ws.setScheduleTitle("Spring");
+		assertEquals(ScheduleEvent.Type.TITLE_CHANGED, events.get(4).getType());
+		
+		//a new catalog without CSC 216 001 removes it from the first row
+		ArrayList<Course> courses = new ArrayList<Course>(catalog.getCourses());
+		courses.remove(catalog.getCourse("CSC 216", "001"));
+		ws.setCatalog(new CourseCatalog(courses));
+		assertEquals(ScheduleEvent.Type.REMOVED, events.get(5).getType());
+		assertEquals(0, events.get(5).getIndex());
+		assertEquals(ScheduleEvent.Type.CATALOG_CHANGED, events.get(6).getType());
+		
+		ws.resetSchedule();
+		assertEquals(ScheduleEvent.Type.CLEARED, events.get(7).getType());
+		assertEquals(1, events.get(7).getCount());
+		
+		ws.removeScheduleListener(listener);
+		ws.setScheduleTitle("Fall");
+		assertEquals(8, events.size());
+	}
+	
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output